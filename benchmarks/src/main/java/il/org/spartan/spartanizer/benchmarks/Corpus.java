@@ -0,0 +1,37 @@
+package il.org.spartan.spartanizer.benchmarks;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.openjdk.jmh.annotations.*;
+
+import il.org.spartan.spartanizer.engine.*;
+
+/** The fixed corpus of Java files all benchmarks run on: by default, the
+ * files of the <code>laconization-cases</code> directory of the plugin. The
+ * corpus is read, and parsed, once per trial.
+ * @since 2026-10-17 */
+@State(Scope.Benchmark) public class Corpus {
+  /** Directory of the corpus, relative to the working directory */
+  @Param("../laconization-cases") public String directory;
+  /** Sources of the corpus, in file name order */
+  public final List<String> sources = new ArrayList<>();
+  /** Sources of the corpus, parsed */
+  public final List<CompilationUnit> units = new ArrayList<>();
+
+  @Setup public void read() throws IOException {
+    sources.clear();
+    units.clear();
+    final File[] fs = new File(directory).listFiles((__, name) -> name.endsWith(".java"));
+    if (fs == null || fs.length == 0)
+      throw new FileNotFoundException("No Java files in " + new File(directory).getAbsolutePath());
+    Arrays.sort(fs);
+    for (final File ¢ : fs)
+      sources.add(new String(Files.readAllBytes(¢.toPath()), StandardCharsets.UTF_8));
+    for (final String ¢ : sources)
+      units.add((CompilationUnit) makeAST.COMPILATION_UNIT.from(¢));
+  }
+}
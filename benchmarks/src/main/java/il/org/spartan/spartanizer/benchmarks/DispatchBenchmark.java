@@ -0,0 +1,59 @@
+package il.org.spartan.spartanizer.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import il.org.spartan.spartanizer.dispatch.*;
+import il.org.spartan.spartanizer.tipping.*;
+
+/** Cost of finding the first tipper of every node of the {@link Corpus}: by
+ * the dispatch table of {@link Toolbox#firstTipper(ASTNode)}, and by the lists
+ * of {@link Toolbox#get(int)}, which it used to scan.
+ * @since 2026-10-17 */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) @Warmup(iterations = 3, time = 1) @Measurement(iterations = 3, time = 1) @Fork(1) @State(Scope.Thread) public class DispatchBenchmark {
+  private final List<ASTNode> nodes = new ArrayList<>();
+  private Toolbox toolbox;
+
+  @Setup public void collect(final Corpus c) {
+    toolbox = Toolbox.freshCopyOfAllTippers();
+    for (final CompilationUnit u : c.units)
+      u.accept(new ASTVisitor() {
+        @Override public void preVisit(final ASTNode ¢) {
+          nodes.add(¢);
+        }
+      });
+  }
+
+  @Benchmark public void table(final Blackhole b) {
+    for (final ASTNode ¢ : nodes)
+      b.consume(firstTipper(¢));
+  }
+
+  @Benchmark public void lists(final Blackhole b) {
+    for (final ASTNode ¢ : nodes)
+      b.consume(firstListed(¢));
+  }
+
+  private Tipper<ASTNode> firstTipper(final ASTNode ¢) {
+    try {
+      return toolbox.firstTipper(¢);
+    } catch (final RuntimeException x) {
+      return null;
+    }
+  }
+
+  @SuppressWarnings("unchecked") private Tipper<ASTNode> firstListed(final ASTNode n) {
+    try {
+      for (final Tipper<? extends ASTNode> ¢ : toolbox.get(n.getNodeType()))
+        if (TipperStatistics.canTip((Tipper<ASTNode>) ¢, n))
+          return (Tipper<ASTNode>) ¢;
+    } catch (final RuntimeException x) {
+      // Some tippers fail on nodes the trimmer never gives them
+    }
+    return null;
+  }
+}
@@ -0,0 +1,51 @@
+package il.org.spartan.spartanizer.benchmarks;
+
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.openjdk.jmh.results.format.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import il.org.spartan.spartanizer.dispatch.*;
+import il.org.spartan.spartanizer.tipping.*;
+
+/** Runs all benchmarks, {@link TipperBenchmark} once for each tipper, and
+ * writes the results as JSON, so that results of different versions of the
+ * plugin can be compared. Usage:
+ *
+ * <pre>
+ * mvn package                      # in this directory
+ * java -jar target/benchmarks.jar [result.json] [corpus directory]
+ * </pre>
+ *
+ * Running <code>java -cp target/benchmarks.jar org.openjdk.jmh.Main</code>
+ * instead gives the usual JMH command line, e.g., <code>-rf json</code>.
+ * @since 2026-10-17 */
+public enum Main {
+  ;
+  public static void main(final String[] args) throws RunnerException {
+    final ChainedOptionsBuilder b = new OptionsBuilder()//
+        .include(SpartanizerBenchmark.class.getSimpleName())//
+        .include(DispatchBenchmark.class.getSimpleName())//
+        .include(TipperBenchmark.class.getSimpleName())//
+        .param("tipper", tippers())//
+        .resultFormat(ResultFormatType.JSON)//
+        .result(args.length > 0 ? args[0] : "benchmarks.json");
+    if (args.length > 1)
+      b.param("directory", args[1]);
+    new Runner(b.build()).run();
+  }
+
+  /** @return {@value TipperBenchmark#ALL}, followed by the simple names of
+   *         the classes of all tippers, in dispatch order */
+  static String[] tippers() {
+    final Set<String> $ = new LinkedHashSet<>();
+    $.add(TipperBenchmark.ALL);
+    final Toolbox t = Toolbox.freshCopyOfAllTippers();
+    for (int i = 0; i < 2 * ASTNode.TYPE_METHOD_REFERENCE; ++i)
+      for (final Tipper<? extends ASTNode> ¢ : t.get(i))
+        $.add(¢.getClass().getSimpleName());
+    return $.toArray(new String[$.size()]);
+  }
+}
@@ -0,0 +1,37 @@
+package il.org.spartan.spartanizer.benchmarks;
+
+import java.util.concurrent.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import il.org.spartan.spartanizer.dispatch.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** Cost of the stages of spartanization of the whole {@link Corpus}: parsing,
+ * collecting tips, making a rewrite, and reaching a fixed point.
+ * @since 2026-10-17 */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS) @Warmup(iterations = 5, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1) @State(Scope.Thread) public class SpartanizerBenchmark {
+  private final Trimmer trimmer = new Trimmer();
+
+  @Benchmark public void parse(final Corpus c, final Blackhole b) {
+    for (final String ¢ : c.sources)
+      b.consume(makeAST.COMPILATION_UNIT.from(¢));
+  }
+
+  @Benchmark public void collectSuggesions(final Corpus c, final Blackhole b) {
+    for (final CompilationUnit ¢ : c.units)
+      b.consume(trimmer.collectSuggesions(¢));
+  }
+
+  @Benchmark public void createRewrite(final Corpus c, final Blackhole b) {
+    for (final CompilationUnit ¢ : c.units)
+      b.consume(trimmer.createRewrite(¢));
+  }
+
+  @Benchmark public void fixed(final Corpus c, final Blackhole b) {
+    for (final String ¢ : c.sources)
+      b.consume(trimmer.fixed(¢));
+  }
+}
@@ -0,0 +1,72 @@
+package il.org.spartan.spartanizer.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import il.org.spartan.spartanizer.dispatch.*;
+import il.org.spartan.spartanizer.tipping.*;
+
+/** Cost of {@link Tipper#canTip(ASTNode)} and of {@link Tipper#tip(ASTNode)}
+ * of a single tipper, on all nodes of the {@link Corpus} it is dispatched on.
+ * {@link Main} runs it once for each tipper of the {@link Toolbox}.
+ * @since 2026-10-17 */
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) @Warmup(iterations = 3, time = 1) @Measurement(iterations = 3, time = 1) @Fork(1) @State(Scope.Thread) public class TipperBenchmark {
+  /** Simple name of the class of the tipper measured, or {@value #ALL} for
+   * all tippers together */
+  @Param(ALL) public String tipper;
+  static final String ALL = "all";
+  /** Nodes the tipper is dispatched on, and their tipper */
+  private final List<ASTNode> nodes = new ArrayList<>();
+  private final List<Tipper<ASTNode>> tippers = new ArrayList<>();
+  /** Nodes the tipper can tip, and their tipper */
+  private final List<ASTNode> tippable = new ArrayList<>();
+  private final List<Tipper<ASTNode>> tippableTippers = new ArrayList<>();
+
+  @Setup public void collect(final Corpus c) {
+    final Toolbox toolbox = Toolbox.freshCopyOfAllTippers();
+    for (final CompilationUnit u : c.units)
+      u.accept(new ASTVisitor() {
+        @Override @SuppressWarnings("unchecked") public void preVisit(final ASTNode n) {
+          for (final Tipper<? extends ASTNode> ¢ : toolbox.get(n.getNodeType()))
+            if (ALL.equals(tipper) || ¢.getClass().getSimpleName().equals(tipper))
+              add(n, (Tipper<ASTNode>) ¢);
+        }
+      });
+  }
+
+  /** Adds a node and its tipper, unless the tipper fails on the node, as some
+   * do on nodes the trimmer never gives them. */
+  void add(final ASTNode n, final Tipper<ASTNode> t) {
+    try {
+      if (!t.canTip(n)) {
+        nodes.add(n);
+        tippers.add(t);
+      } else if (t.tip(n) != null) {
+        nodes.add(n);
+        tippers.add(t);
+        tippable.add(n);
+        tippableTippers.add(t);
+      }
+    } catch (final TipperFailure | RuntimeException x) {
+      // Not measured
+    }
+  }
+
+  @Benchmark public void canTip(final Blackhole b) {
+    for (int ¢ = 0; ¢ < nodes.size(); ++¢)
+      b.consume(tippers.get(¢).canTip(nodes.get(¢)));
+  }
+
+  @Benchmark public void tip(final Blackhole b) {
+    for (int ¢ = 0; ¢ < tippable.size(); ++¢)
+      try {
+        b.consume(tippableTippers.get(¢).tip(tippable.get(¢)));
+      } catch (final TipperFailure x) {
+        b.consume(x);
+      }
+  }
+}
@@ -55,35 +55,28 @@ public final class Builder extends IncrementalProjectBuilder {
     });
   }
 
-  static void addMarkers(final IResource ¢) throws CoreException {
+  /** Schedules a background scan of a file, which updates its tip markers,
+   * touching only those of tips which were added, removed or moved since it
+   * was last scanned
+   * @param ¢ JD */
+  static void addMarkers(final IResource ¢) {
     if (¢ instanceof IFile && ¢.getName().endsWith(".java"))
-      addMarkers((IFile) ¢);
+      TipScanner.schedule((IFile) ¢);
   }
 
-  private static void addMarker(final AbstractGUIApplicator a, final Tip r, final IMarker m) throws CoreException {
-    m.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
-    m.setAttribute(SPARTANIZATION_TYPE_KEY, a + "");
-    m.setAttribute(SPARTANIZATION_TIPPER_KEY, r.tipperClass);
-    m.setAttribute(IMarker.MESSAGE, prefix() + r.description);
-    m.setAttribute(IMarker.CHAR_START, r.from);
-    m.setAttribute(IMarker.CHAR_END, r.to);
-    m.setAttribute(IMarker.TRANSIENT, false);
-    m.setAttribute(IMarker.LINE_NUMBER, r.lineNumber);
-  }
-
-  private static void addMarkers(final IFile ¢) throws CoreException {
-    Tips.reset();
-    deleteMarkers(¢);
-    addMarkers(¢, (CompilationUnit) makeAST.COMPILATION_UNIT.from(¢));
-  }
-
-  private static void addMarkers(final IFile f, final CompilationUnit u) throws CoreException {
-    for (final AbstractGUIApplicator s : Tips.all())
+  /** @param u JD
+   * @param ss the applicators whose tips are marked
+   * @return the tip markers the file of the parameter should have */
+  static List<TipMarkers.Spec> specs(final CompilationUnit u, final Iterable<AbstractGUIApplicator> ss) {
+    final List<TipMarkers.Spec> $ = new ArrayList<>();
+    for (final AbstractGUIApplicator s : ss)
       for (final Tip ¢ : s.collectSuggesions(u))
         if (¢ != null) {
           final TipperGroup group = Toolbox.groupFor(¢.tipperClass);
-          addMarker(s, ¢, f.createMarker(group == null || group.id == null ? MARKER_TYPE : MARKER_TYPE + "." + group.name()));
+          $.add(new TipMarkers.Spec(group == null || group.id == null ? MARKER_TYPE : MARKER_TYPE + "." + group.name(), s + "", ¢.tipperClass,
+              prefix() + ¢.description, ¢.from, ¢.to, ¢.lineNumber));
         }
+    return $;
   }
 
   private static String prefix() {
@@ -95,6 +88,7 @@ public final class Builder extends IncrementalProjectBuilder {
     if (m != null)
       m.beginTask("Checking for spartanization opportunities", IProgressMonitor.UNKNOWN);
     Toolbox.refresh();
+    Tips.reset();
     build(kind);
     if (m != null)
       m.done();
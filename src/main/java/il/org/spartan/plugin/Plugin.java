@@ -49,6 +49,7 @@ public final class Plugin extends AbstractUIPlugin implements IStartup {
 
   @Override public void stop(final BundleContext ¢) throws Exception {
     monitor.debug("STOP: spartnizer");
+    TipScanner.cancel();
     plugin = null;
     super.stop(¢);
   }
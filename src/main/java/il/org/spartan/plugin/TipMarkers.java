@@ -0,0 +1,77 @@
+package il.org.spartan.plugin;
+
+import java.util.*;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+
+/** Updates the tip markers of a file to a new set of tips, by diffing it
+ * against the markers the file already has, rather than deleting all of these
+ * and creating a marker per tip: a marker whose attributes are unchanged is
+ * left alone, a marker of a tipper whose tip moved is updated in place, and
+ * markers are created or deleted only for tips which were added or removed.
+ * @since 2026-10-17 */
+final class TipMarkers {
+  /** Attributes of a tip marker, in the order of {@link Spec#values} */
+  static final String[] ATTRIBUTES = { IMarker.SEVERITY, Builder.SPARTANIZATION_TYPE_KEY, Builder.SPARTANIZATION_TIPPER_KEY, IMarker.MESSAGE,
+      IMarker.CHAR_START, IMarker.CHAR_END, IMarker.TRANSIENT, IMarker.LINE_NUMBER };
+  private static final int TIPPER = 2;
+
+  /** @param f JD
+   * @param ss the markers the file should have
+   * @throws CoreException if markers cannot be found, created, changed or
+   *         deleted */
+  static void update(final IFile f, final List<Spec> ss) throws CoreException {
+    final Map<List<Object>, Deque<IMarker>> unchanged = new LinkedHashMap<>();
+    for (final IMarker ¢ : f.findMarkers(Builder.MARKER_TYPE, true, IResource.DEPTH_ONE))
+      unchanged.computeIfAbsent(key(¢.getType(), ¢.getAttributes(ATTRIBUTES)), __ -> new ArrayDeque<>()).add(¢);
+    final List<Spec> changed = new ArrayList<>();
+    for (final Spec ¢ : ss) {
+      final Deque<IMarker> ms = unchanged.get(¢.key());
+      if (ms == null || ms.isEmpty())
+        changed.add(¢);
+      else
+        ms.remove();
+    }
+    final Map<List<Object>, Deque<IMarker>> stale = new LinkedHashMap<>();
+    for (final Deque<IMarker> ms : unchanged.values())
+      for (final IMarker ¢ : ms)
+        stale.computeIfAbsent(Arrays.asList(¢.getType(), ¢.getAttribute(Builder.SPARTANIZATION_TIPPER_KEY)), __ -> new ArrayDeque<>()).add(¢);
+    for (final Spec s : changed) {
+      final Deque<IMarker> ms = stale.get(Arrays.asList(s.type, s.values[TIPPER]));
+      (ms == null || ms.isEmpty() ? f.createMarker(s.type) : ms.remove()).setAttributes(ATTRIBUTES, s.values);
+    }
+    for (final Deque<IMarker> ms : stale.values())
+      for (final IMarker ¢ : ms)
+        ¢.delete();
+  }
+
+  static List<Object> key(final String type, final Object[] values) {
+    final List<Object> $ = new ArrayList<>(values.length + 1);
+    $.add(type);
+    $.addAll(Arrays.asList(values));
+    return $;
+  }
+
+  private TipMarkers() {
+    // Not to be instantiated
+  }
+
+  /** A tip marker a file should have: its type, and the values of its
+   * {@link TipMarkers#ATTRIBUTES} */
+  static final class Spec {
+    final String type;
+    final Object[] values;
+
+    Spec(final String type, final String applicator, final Class<?> tipper, final String message, final int from, final int to,
+        final int lineNumber) {
+      this.type = type;
+      values = new Object[] { Integer.valueOf(IMarker.SEVERITY_INFO), applicator, tipper, message, Integer.valueOf(from), Integer.valueOf(to),
+          Boolean.FALSE, Integer.valueOf(lineNumber) };
+    }
+
+    List<Object> key() {
+      return TipMarkers.key(type, values);
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package il.org.spartan.plugin;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.*;
+import org.eclipse.jdt.core.dom.*;
+
+import il.org.spartan.spartanizer.dispatch.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** Scans files for tips in background jobs, on behalf of the {@link Builder}.
+ * Each file has a single scan job: saves of a file which arrive before its
+ * scan starts are coalesced into it, and a scan in progress when the file
+ * changes again is cancelled, and started anew. Scans of different files run
+ * in parallel, in the pool of the job manager. Markers of scanned files are
+ * published in batches, each updating the markers of all files scanned since
+ * the last batch in a single workspace operation.
+ * <p>
+ * Each thread of the pool scans with a {@link Trimmer} of its own, on tippers
+ * of its own, so that parallel scans share no applicator state, nor tipper
+ * instances.
+ * @since 2026-10-17 */
+final class TipScanner {
+  /** Family of all jobs of this class */
+  static final Object FAMILY = TipScanner.class;
+  /** Delay, in milliseconds, before a scan starts, during which further
+   * changes of the file are coalesced into it */
+  static final long DELAY = 300;
+  /** Delay, in milliseconds, before scanned markers are published, during
+   * which further scans join the batch */
+  static final long PUBLISH_DELAY = 200;
+  /** Applicator of each scanning thread */
+  private static final ThreadLocal<Trimmer> trimmers = ThreadLocal.withInitial(() -> new Trimmer() {
+    @Override protected ASTVisitor makeTipsCollector(final List<Tip> $) {
+      final ASTVisitor v = super.makeTipsCollector($);
+      toolbox = Toolbox.threadInstance();
+      return v;
+    }
+  });
+  private static final Map<IFile, Scan> scans = new ConcurrentHashMap<>();
+  /** Markers of scanned files, which are yet to be published */
+  private static final Map<IFile, List<TipMarkers.Spec>> scanned = new ConcurrentHashMap<>();
+  private static final Job publisher = new WorkspaceJob("Publishing spartanization tips") {
+    @Override public boolean belongsTo(final Object ¢) {
+      return ¢ == FAMILY;
+    }
+
+    @Override public IStatus runInWorkspace(final IProgressMonitor m) throws CoreException {
+      for (final IFile f : new ArrayList<>(scanned.keySet())) {
+        final List<TipMarkers.Spec> ss = scanned.remove(f);
+        if (ss != null && f.exists() && spartanized(f))
+          TipMarkers.update(f, ss);
+      }
+      return Status.OK_STATUS;
+    }
+  };
+  static {
+    publisher.setSystem(true);
+  }
+
+  /** Schedules a scan of a file, cancelling a scan of the file which is in
+   * progress
+   * @param ¢ JD */
+  static void schedule(final IFile ¢) {
+    final Scan $ = scans.computeIfAbsent(¢, Scan::new);
+    $.cancel();
+    $.schedule(DELAY);
+  }
+
+  /** Cancels all scans, e.g., when the plugin is stopped */
+  static void cancel() {
+    Job.getJobManager().cancel(FAMILY);
+  }
+
+  /** Cancels the scans of the files of a project, and drops their markers
+   * which are yet to be published, e.g., when its nature is removed
+   * @param p JD */
+  static void cancel(final IProject p) {
+    for (final Iterator<Map.Entry<IFile, Scan>> i = scans.entrySet().iterator(); i.hasNext();) {
+      final Map.Entry<IFile, Scan> e = i.next();
+      if (p.equals(e.getKey().getProject())) {
+        e.getValue().cancel();
+        i.remove();
+      }
+    }
+    scanned.keySet().removeIf(¢ -> p.equals(¢.getProject()));
+  }
+
+  /** @param ¢ JD
+   * @return <code><b>true</b></code> <em>iff</em> the project of the
+   *         parameter still has the spartanization nature */
+  static boolean spartanized(final IFile ¢) {
+    try {
+      return ¢.getProject().isOpen() && ¢.getProject().hasNature(Nature.NATURE_ID);
+    } catch (final CoreException x) {
+      monitor.logCancellationRequest(TipScanner.class, x);
+      return false;
+    }
+  }
+
+  private TipScanner() {
+    // Not to be instantiated
+  }
+
+  /** The scan job of a file */
+  private static final class Scan extends Job {
+    private final IFile file;
+
+    Scan(final IFile file) {
+      super("Scanning " + file.getName() + " for spartanization tips");
+      this.file = file;
+      setSystem(true);
+      setPriority(BUILD);
+    }
+
+    @Override public boolean belongsTo(final Object ¢) {
+      return ¢ == FAMILY;
+    }
+
+    @Override protected IStatus run(final IProgressMonitor m) {
+      if (!file.exists()) {
+        scans.remove(file, this);
+        return Status.OK_STATUS;
+      }
+      if (m.isCanceled())
+        return Status.CANCEL_STATUS;
+      final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(file);
+      if (m.isCanceled())
+        return Status.CANCEL_STATUS;
+      final List<TipMarkers.Spec> $ = Builder.specs(u, Collections.singletonList(trimmers.get()));
+      if (m.isCanceled() || !spartanized(file))
+        return Status.CANCEL_STATUS;
+      scanned.put(file, $);
+      publisher.schedule(PUBLISH_DELAY);
+      return Status.OK_STATUS;
+    }
+  }
+}
@@ -15,14 +15,9 @@ public final class Tips {
   private static AbstractGUIApplicator[] all = { //
       new Trimmer(), //
   };
-  @SuppressWarnings("synthetic-access") //
-  private static final Map<String, AbstractGUIApplicator> map = new HashMap<String, AbstractGUIApplicator>() {
-    static final long serialVersionUID = -8921699276699040030L;
-    {
-      for (final AbstractGUIApplicator ¢ : all)
-        put(¢.getName(), ¢);
-    }
-  };
+  /** Never changed once published; {@link #reset()} replaces it, so that scans
+   * iterating it on other threads are not disturbed */
+  private static volatile Map<String, AbstractGUIApplicator> map = map();
 
   /** @return all the registered spartanization refactoring objects */
   public static Iterable<AbstractGUIApplicator> all() {
@@ -60,9 +55,14 @@ public final class Tips {
    * Letting the rules notification decisions be updated without restarting
    * eclipse. */
   public static void reset() {
-    map.clear();
+    map = map();
+  }
+
+  private static Map<String, AbstractGUIApplicator> map() {
+    final Map<String, AbstractGUIApplicator> $ = new LinkedHashMap<>();
     for (final AbstractGUIApplicator ¢ : all)
-      map.put(¢.getName(), ¢);
+      $.put(¢.getName(), ¢);
+    return Collections.unmodifiableMap($);
   }
 
   private final AbstractGUIApplicator value;
@@ -20,6 +20,7 @@ public final class TipsOnOffToggle extends AbstractHandler {
       if (Nature.NATURE_ID.equals(natures[i])) {
         description.setNatureIds(delete(natures, i));
         p.setDescription(description, null);
+        TipScanner.cancel(p);
         p.accept(r -> {
           if (r instanceof IFile && r.getName().endsWith(".java"))
             Builder.deleteMarkers((IFile) r);
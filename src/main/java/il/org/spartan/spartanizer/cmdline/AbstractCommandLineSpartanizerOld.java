@@ -331,8 +331,8 @@ public abstract class AbstractCommandLineSpartanizerOld {
   }
 
   void runEssence() {
-    system.shellEssenceMetrics(beforeFileName);
-    system.shellEssenceMetrics(afterFileName);
+    system.essenceMetrics(beforeFileName);
+    system.essenceMetrics(afterFileName);
   }
 
   private void runWordCount() {
@@ -1,8 +1,8 @@
 package il.org.spartan.spartanizer.cmdline;
 
-import static il.org.spartan.tide.*;
-
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
 
 import org.eclipse.jdt.core.dom.*;
 
@@ -23,16 +23,27 @@ public final class BatchSpartanizer {
   private static final String folder = "/tmp";
   private static final String script = "./src/test/resources/essence";
   private static final InteractiveSpartanizer interactiveSpartanizer = new InteractiveSpartanizer().disable(Nominal.class).disable(Nanos.class);
+  /** Spartanizer of each measuring thread, with tippers of its own */
+  private static final ThreadLocal<InteractiveSpartanizer> spartanizers = ThreadLocal.withInitial(() -> {
+    final InteractiveSpartanizer $ = new InteractiveSpartanizer();
+    $.toolbox = Toolbox.muttableDefaultInstance();
+    return $.disable(Nominal.class).disable(Nanos.class);
+  });
   private static boolean defaultDir;
   private static String outputDir;
   private static String inputDir;
+  private static int threads = 1;
+  private static final long CACHE_BYTES = 1L << 30;
+  private static TipCache cache;
+  private static String statistics;
   
   private int classesDone;
+  private int filesFailed;
   private final String inputPath;
   private final String beforeFileName;
   private final String afterFileName;
-  private PrintWriter befores;
-  private PrintWriter afters;
+  private OutputSink befores;
+  private OutputSink afters;
   private CSVStatistics report;
   private final String reportFileName;
   
@@ -103,6 +114,9 @@ public final class BatchSpartanizer {
     System.out.println("  -d       default directory: use the current directory for the analysis");
     System.out.println("  -o       output directory: here go the results of the analysis");
     System.out.println("  -i       input directory: place here the projects that you want to analyze.");
+    System.out.println("  -t n     threads: measure files on n threads (output order is unaffected)");
+    System.out.println("  -c dir   cache directory: reuse the measurements of unchanged files from earlier runs");
+    System.out.println("  -s file  statistics: write per tipper counters to this file, as JSON if it ends with .json, as CSV otherwise");
     System.out.println("");
   }
 
@@ -117,6 +131,15 @@ public final class BatchSpartanizer {
         inputDir = args[¢ + 1];
         // System.out.println("InputDir: " + inputDir);
         ¢ += 2;
+      } else if ("-t".equals(args[¢])) {
+        threads = Integer.parseInt(args[¢ + 1]);
+        ¢ += 2;
+      } else if ("-c".equals(args[¢])) {
+        cache = new TipCache(new File(args[¢ + 1]), interactiveSpartanizer.toolbox, CACHE_BYTES);
+        ¢ += 2;
+      } else if ("-s".equals(args[¢])) {
+        statistics = args[¢ + 1];
+        ¢ += 2;
       } else if ("-d".equals(args[¢])) {
         inputDir = ".";
         outputDir = folder;
@@ -146,82 +169,258 @@ public final class BatchSpartanizer {
   }
 
   boolean collect(final AbstractTypeDeclaration in) {
-    final int length = in.getLength();
-    final int tokens = metrics.tokens(in + "");
-    final int nodes = count.nodes(in);
-    final int body = metrics.bodySize(in);
-    final int tide = clean(in + "").length();
-    final int essence = code.essence(in + "").length();
-    final String out = interactiveSpartanizer.fixedPoint(in + "");
-    final int length2 = out.length();
-    final int tokens2 = metrics.tokens(out);
-    final int tide2 = clean(out + "").length();
-    final int essence2 = code.essence(out + "").length();
-    final int wordCount = code.wc(code.essence(out + ""));
-    final ASTNode from = makeAST.COMPILATION_UNIT.from(out);
-    final int nodes2 = count.nodes(from);
-    final int body2 = metrics.bodySize(from);
-    System.err.println(++classesDone + " " + extract.category(in) + " " + extract.name(in));
-    befores.print(in);
-    afters.print(out);
-    report.summaryFileName();
-    report//
-        .put("TipperCategory", extract.category(in))//
-        .put("Name", extract.name(in))//
-        .put("Nodes1", nodes)//
-        .put("Nodes2", nodes2)//
-        .put("Δ Nodes", nodes - nodes2)//
-        .put("δ Nodes", system.d(nodes, nodes2))//
-        .put("δ Nodes %", system.p(nodes, nodes2))//
-        .put("Body", body)//
-        .put("Body2", body2)//
-        .put("Δ Body", body - body2)//
-        .put("δ Body", system.d(body, body2))//
-        .put("% Body", system.p(body, body2))//
-        .put("Length1", length)//
-        .put("Tokens1", tokens)//
-        .put("Tokens2", tokens2)//
-        .put("Δ Tokens", tokens - tokens2)//
-        .put("δ Tokens", system.d(tokens, tokens2))//
-        .put("% Tokens", system.p(tokens, tokens2))//
-        .put("Length1", length)//
-        .put("Length2", length2)//
-        .put("Δ Length", length - length2)//
-        .put("δ Length", system.d(length, length2))//
-        .put("% Length", system.p(length, length2))//
-        .put("Tide1", tide)//
-        .put("Tide2", tide2)//
-        .put("Δ Tide2", tide - tide2)//
-        .put("δ Tide2", system.d(tide, tide2))//
-        .put("δ Tide2", system.p(tide, tide2))//
-        .put("Essence1", essence)//
-        .put("Essence2", essence2)//
-        .put("Δ Essence", essence - essence2)//
-        .put("δ Essence", system.d(essence, essence2))//
-        .put("% Essence", system.p(essence, essence2))//
-        .put("Words)", wordCount).put("R(T/L)", system.ratio(length, tide)) //
-        .put("R(E/L)", system.ratio(length, essence)) //
-        .put("R(E/T)", system.ratio(tide, essence)) //
-        .put("R(B/S)", system.ratio(nodes, body)) //
-    ;
-    report.nl();
+    emit(new Measurement(in));
     return false;
   }
 
   void collect(final CompilationUnit u) {
+    emit(measure(u));
+  }
+
+  /** Measures all types in a compilation unit; does not touch the output
+   * files, and may therefore run concurrently for different units.
+   * @param u JD
+   * @return measurements of the top level types of the parameter, in order */
+  static List<Measurement> measure(final CompilationUnit u) {
+    final List<Measurement> $ = new ArrayList<>();
     u.accept(new ASTVisitor() {
       @Override public boolean visit(final AnnotationTypeDeclaration ¢) {
-        return collect(¢);
+        return !$.add(new Measurement(¢));
       }
 
       @Override public boolean visit(final EnumDeclaration ¢) {
-        return collect(¢);
+        return !$.add(new Measurement(¢));
       }
 
       @Override public boolean visit(final TypeDeclaration ¢) {
-        return collect(¢);
+        return !$.add(new Measurement(¢));
       }
     });
+    return $;
+  }
+
+  static List<Measurement> measure(final File f) {
+    if (!system.isTestFile(f))
+      try {
+        return measure(FileUtils.read(f));
+      } catch (final IOException e) {
+        monitor.infoIOException(e, "File = " + f);
+      }
+    return new ArrayList<>();
+  }
+
+  /** Measures all types in a source, reusing the measurements of the
+   * {@link #cache}, if the same source was measured before; such a source is
+   * not even parsed.
+   * @param javaCode JD
+   * @return measurements of the top level types of the parameter, in order */
+  static List<Measurement> measure(final String javaCode) {
+    if (cache == null)
+      return measure((CompilationUnit) makeAST.COMPILATION_UNIT.from(javaCode));
+    final String cached = cache.text(javaCode);
+    final List<Measurement> $ = cached == null ? null : Measurement.parse(cached);
+    if ($ != null)
+      return $;
+    final List<Measurement> measured = measure((CompilationUnit) makeAST.COMPILATION_UNIT.from(javaCode));
+    cache.put(javaCode, Measurement.toString(measured));
+    return measured;
+  }
+
+  /** Everything we record on a single type, before and after spartanization
+   * @author Yossi Gil
+   * @year 2016 */
+  static final class Measurement {
+    final String category;
+    final String name;
+    final String in;
+    final String out;
+    final int length;
+    final int tokens;
+    final int nodes;
+    final int body;
+    final int tide;
+    final int essence;
+    final int length2;
+    final int tokens2;
+    final int tide2;
+    final int essence2;
+    final int wordCount;
+    final int nodes2;
+    final int body2;
+
+    Measurement(final AbstractTypeDeclaration in) {
+      category = extract.category(in);
+      name = extract.name(in);
+      this.in = in + "";
+      length = in.getLength();
+      final Census before = Census.of(in, this.in);
+      tokens = before.tokens;
+      nodes = before.nodes;
+      body = before.body;
+      tide = before.tide;
+      essence = before.essence;
+      out = spartanizers.get().fixedPoint(this.in);
+      length2 = out.length();
+      final Census after = Census.of(makeAST.COMPILATION_UNIT.from(out), out);
+      tokens2 = after.tokens;
+      tide2 = after.tide;
+      essence2 = after.essence;
+      wordCount = after.words;
+      nodes2 = after.nodes;
+      body2 = after.body;
+    }
+
+    private Measurement(final String[] fields, final String in, final String out) {
+      int ¢ = 0;
+      category = fields[¢++];
+      name = fields[¢++];
+      this.in = in;
+      this.out = out;
+      length = Integer.parseInt(fields[¢++]);
+      tokens = Integer.parseInt(fields[¢++]);
+      nodes = Integer.parseInt(fields[¢++]);
+      body = Integer.parseInt(fields[¢++]);
+      tide = Integer.parseInt(fields[¢++]);
+      essence = Integer.parseInt(fields[¢++]);
+      length2 = Integer.parseInt(fields[¢++]);
+      tokens2 = Integer.parseInt(fields[¢++]);
+      tide2 = Integer.parseInt(fields[¢++]);
+      essence2 = Integer.parseInt(fields[¢++]);
+      wordCount = Integer.parseInt(fields[¢++]);
+      nodes2 = Integer.parseInt(fields[¢++]);
+      body2 = Integer.parseInt(fields[¢++]);
+    }
+
+    /** @return the fields of this instance, separated by tabs, followed by
+     *         the lengths of its texts */
+    private String fields() {
+      return String.join("\t", category, name, length + "", tokens + "", nodes + "", body + "", tide + "", essence + "", length2 + "",
+          tokens2 + "", tide2 + "", essence2 + "", wordCount + "", nodes2 + "", body2 + "", in.length() + "", out.length() + "");
+    }
+
+    /** @param ms JD
+     * @return the number of measurements, followed by a line of
+     *         {@link #fields()} and then the texts of each */
+    static String toString(final List<Measurement> ms) {
+      final StringBuilder $ = new StringBuilder().append(ms.size()).append('\n');
+      for (final Measurement ¢ : ms)
+        $.append(¢.fields()).append('\n').append(¢.in).append(¢.out);
+      return $ + "";
+    }
+
+    /** Inverse of {@link #toString(List)}
+     * @param s JD
+     * @return the measurements the parameter represents, or
+     *         <code><b>null</b></code> if it is malformed, e.g., truncated */
+    static List<Measurement> parse(final String s) {
+      try {
+        final List<Measurement> $ = new ArrayList<>();
+        int from = s.indexOf('\n') + 1;
+        for (int ¢ = Integer.parseInt(s.substring(0, from - 1)); ¢ > 0; --¢) {
+          final int to = s.indexOf('\n', from);
+          final String[] fields = s.substring(from, to).split("\t");
+          final int in = Integer.parseInt(fields[fields.length - 2]), out = Integer.parseInt(fields[fields.length - 1]);
+          from = to + 1;
+          $.add(new Measurement(fields, s.substring(from, from + in), s.substring(from + in, from + in + out)));
+          from += in + out;
+        }
+        return from != s.length() ? null : $;
+      } catch (final NumberFormatException | IndexOutOfBoundsException x) {
+        monitor.debug(Measurement.class, x);
+        return null;
+      }
+    }
+  }
+
+  void emit(final Measurement ¢) {
+    System.err.println(++classesDone + " " + ¢.category + " " + ¢.name);
+    try {
+      befores.write(¢.name, ¢.in);
+      afters.write(¢.name, ¢.out);
+    } catch (final IOException x) {
+      monitor.infoIOException(x, ¢.name + "");
+    }
+    report.summaryFileName();
+    report//
+        .put("TipperCategory", ¢.category)//
+        .put("Name", ¢.name)//
+        .put("Nodes1", ¢.nodes)//
+        .put("Nodes2", ¢.nodes2)//
+        .put("Δ Nodes", ¢.nodes - ¢.nodes2)//
+        .put("δ Nodes", system.d(¢.nodes, ¢.nodes2))//
+        .put("δ Nodes %", system.p(¢.nodes, ¢.nodes2))//
+        .put("Body", ¢.body)//
+        .put("Body2", ¢.body2)//
+        .put("Δ Body", ¢.body - ¢.body2)//
+        .put("δ Body", system.d(¢.body, ¢.body2))//
+        .put("% Body", system.p(¢.body, ¢.body2))//
+        .put("Length1", ¢.length)//
+        .put("Tokens1", ¢.tokens)//
+        .put("Tokens2", ¢.tokens2)//
+        .put("Δ Tokens", ¢.tokens - ¢.tokens2)//
+        .put("δ Tokens", system.d(¢.tokens, ¢.tokens2))//
+        .put("% Tokens", system.p(¢.tokens, ¢.tokens2))//
+        .put("Length1", ¢.length)//
+        .put("Length2", ¢.length2)//
+        .put("Δ Length", ¢.length - ¢.length2)//
+        .put("δ Length", system.d(¢.length, ¢.length2))//
+        .put("% Length", system.p(¢.length, ¢.length2))//
+        .put("Tide1", ¢.tide)//
+        .put("Tide2", ¢.tide2)//
+        .put("Δ Tide2", ¢.tide - ¢.tide2)//
+        .put("δ Tide2", system.d(¢.tide, ¢.tide2))//
+        .put("δ Tide2", system.p(¢.tide, ¢.tide2))//
+        .put("Essence1", ¢.essence)//
+        .put("Essence2", ¢.essence2)//
+        .put("Δ Essence", ¢.essence - ¢.essence2)//
+        .put("δ Essence", system.d(¢.essence, ¢.essence2))//
+        .put("% Essence", system.p(¢.essence, ¢.essence2))//
+        .put("Words)", ¢.wordCount).put("R(T/L)", system.ratio(¢.length, ¢.tide)) //
+        .put("R(E/L)", system.ratio(¢.length, ¢.essence)) //
+        .put("R(E/T)", system.ratio(¢.tide, ¢.essence)) //
+        .put("R(B/S)", system.ratio(¢.nodes, ¢.body)) //
+    ;
+    report.nl();
+  }
+
+  /** Measures files on {@link #threads} threads, but emits their measurements
+   * in the order of the files, so that the output does not depend on the
+   * number of threads. At most a few files per thread are in flight. A file
+   * whose measurement fails is logged, and skipped.
+   * @param fs JD */
+  void collect(final Iterable<File> fs) {
+    final ForkJoinPool pool = new ForkJoinPool(threads);
+    final Deque<File> files = new ArrayDeque<>();
+    final Deque<Future<List<Measurement>>> pending = new ArrayDeque<>();
+    try {
+      for (final File ¢ : fs) {
+        files.add(¢);
+        pending.add(pool.submit(() -> measure(¢)));
+        if (pending.size() >= 4 * threads)
+          emit(files.remove(), pending.remove());
+      }
+      while (!pending.isEmpty())
+        emit(files.remove(), pending.remove());
+    } catch (final InterruptedException x) {
+      monitor.logCancellationRequest(this, x);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  void emit(final File f, final Future<List<Measurement>> m) throws InterruptedException {
+    try {
+      emit(m.get());
+    } catch (final ExecutionException x) {
+      ++filesFailed;
+      System.err.println("Failed: " + f);
+      monitor.logEvaluationError(this, x.getCause());
+    }
+  }
+
+  void emit(final List<Measurement> ms) {
+    for (final Measurement ¢ : ms)
+      emit(¢);
   }
 
   void collect(final File f) {
@@ -234,7 +433,7 @@ public final class BatchSpartanizer {
   }
 
   void collect(final String javaCode) {
-    collect((CompilationUnit) makeAST.COMPILATION_UNIT.from(javaCode));
+    emit(measure(javaCode));
   }
 
   void fire() {
@@ -248,14 +447,14 @@ public final class BatchSpartanizer {
   }
 
   void runEssence() {
-    system.shellEssenceMetrics(beforeFileName);
-    system.shellEssenceMetrics(afterFileName);
+    system.essenceMetrics(beforeFileName);
+    system.essenceMetrics(afterFileName);
   }
 
   private void applyEssenceCommandLine() {
     try {
-      final String essentializedCodeBefore = system.runScript(beforeFileName);
-      final String essentializedCodeAfter = system.runScript(afterFileName);
+      final String essentializedCodeBefore = system.essence(beforeFileName).replace("\n", "");
+      final String essentializedCodeAfter = system.essence(afterFileName).replace("\n", "");
       final int numWordEssentialBefore = essentializedCodeBefore.trim().length();
       final int numWordEssentialAfter = essentializedCodeAfter.trim().length();
       System.err.println("Word Count Essentialized before: " + numWordEssentialBefore);
@@ -275,13 +474,19 @@ public final class BatchSpartanizer {
         inputPath, //
         beforeFileName, //
         afterFileName);
-    try (PrintWriter b = new PrintWriter(new FileWriter(beforeFileName)); //
-        PrintWriter a = new PrintWriter(new FileWriter(afterFileName))) {
+    try (OutputSink b = new OutputSink(beforeFileName); //
+        OutputSink a = new OutputSink(afterFileName)) {
       befores = b;
       afters = a;
       report = new CSVStatistics(reportFileName, "property");
-      for (final File ¢ : new FilesGenerator(".java").from(inputPath))
-        collect(¢);
+      final long startTime = System.nanoTime();
+      if (threads <= 1)
+        for (final File ¢ : new FilesGenerator(".java").from(inputPath))
+          collect(¢);
+      else
+        collect(new FilesGenerator(".java").from(inputPath));
+      System.err.printf("\n %d types processed, %d files failed, on %d threads in %.1f seconds\n", box.it(classesDone), box.it(filesFailed),
+          box.it(threads), box.it((System.nanoTime() - startTime) / 1E9));
     } catch (final IOException x) {
       x.printStackTrace();
       System.err.println(classesDone + " files processed; processing of " + inputPath + " failed for some I/O reason");
@@ -289,6 +494,14 @@ public final class BatchSpartanizer {
     applyEssenceCommandLine();
     System.err.print("\n Done: " + classesDone + " files processed.");
     System.err.print("\n Summary: " + report.close());
+    if (cache != null)
+      System.err.printf("\n Cache: %d hits, %d misses, %d bytes\n", box.it(cache.hits()), box.it(cache.misses()), box.it(cache.bytes()));
+    if (statistics != null)
+      try {
+        TipperStatistics.write(new File(statistics));
+      } catch (final IOException x) {
+        monitor.infoIOException(x, statistics);
+      }
   }
 
   private void runWordCount() {
@@ -338,8 +338,8 @@ public final class BatchSpartanizerApplication implements IApplication {
   // }
   //
   // void runEssence() {
-  // system.shellEssenceMetrics(beforeFileName);
-  // system.shellEssenceMetrics(afterFileName);
+  // system.essenceMetrics(beforeFileName);
+  // system.essenceMetrics(afterFileName);
   // }
   //
   // private void applyEssenceCommandLine() {
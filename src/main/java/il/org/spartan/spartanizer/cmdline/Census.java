@@ -0,0 +1,171 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import java.io.*;
+
+import org.eclipse.jdt.core.dom.*;
+
+import il.org.spartan.java.*;
+import il.org.spartan.java.Token.*;
+import il.org.spartan.spartanizer.ast.navigate.*;
+
+/** All size metrics of a piece of code which batch runs record: those of its
+ * AST are collected in one walk of it; tokens and tide in one pass of the
+ * tokenizer over its text; and the essence in the passes of
+ * {@link EssenceFilter}, the last of which also counts its words. Values are
+ * the same as those of
+ * {@link count#nodes(ASTNode)}, {@link metrics#bodySize(ASTNode)},
+ * {@link count#imports(CompilationUnit)}, {@link count#noimports(CompilationUnit)},
+ * {@link metrics#tokens(String)}, {@link il.org.spartan.tide#clean(String)},
+ * {@link code#essence(String)} and {@link code#wc(String)}.
+ * @since 2026-10-17 */
+public final class Census {
+  /** @param n JD
+   * @return metrics of the AST of the parameter; metrics of text are zero */
+  public static Census of(final ASTNode n) {
+    final Census $ = new Census();
+    n.accept($.new Collector());
+    return $;
+  }
+
+  /** @param n JD
+   * @param text of the parameter, e.g., as rendered or as read from a file
+   * @return metrics of the AST and of the text */
+  public static Census of(final ASTNode n, final String text) {
+    final Census $ = of(n);
+    final Tide t = new Tide();
+    for (final Tokenizer tokenizer = new Tokenizer(new StringReader(text));;) {
+      final Token k = tokenizer.next();
+      if (k == null || k == Token.EOF)
+        break;
+      if (k.kind != Kind.COMMENT && k.kind != Kind.NONCODE)
+        ++$.tokens;
+      t.feed(tokenizer.text());
+    }
+    $.tide = t.length();
+    final EssenceFilter.Words w = new EssenceFilter.Words();
+    $.essence = EssenceFilter.of(text, w).length();
+    $.words = w.count();
+    return $;
+  }
+
+  /** Number of nodes, as in {@link count#nodes(ASTNode)} */
+  public int nodes;
+  /** Number of nodes in method bodies, as in {@link metrics#bodySize(ASTNode)} */
+  public int body;
+  /** Number of import declarations */
+  public int imports;
+  /** Number of nodes which are not import declarations */
+  public int noImports;
+  /** Number of code tokens in the text */
+  public int tokens;
+  /** Length of the text after {@link il.org.spartan.tide#clean(String)} */
+  public int tide;
+  /** Length of the {@link code#essence(String)} of the text */
+  public int essence;
+  /** Number of words in the essence of the text */
+  public int words;
+
+  /** Length of {@link il.org.spartan.tide#clean(String)} of a text, fed to it
+   * in pieces. White space is squeezed to a single space, which is dropped at
+   * either end of the text, next to an operator, or before <code>!=</code>
+   * (possibly with space between its two characters). A <code>^</code> with a
+   * space left before it, or else after it, replaces that space and becomes
+   * <code>[^]</code>, as the <code>clean</code> regular expressions do. */
+  static final class Tide {
+    private static final String OPERATORS = ":/%,{}=?;+><-*|&()";
+    private int length;
+    /** Number of characters other than white space */
+    private int items;
+    /** Whether white space followed the last of these */
+    private boolean white;
+    /** The last three of these characters, oldest first */
+    private final char[] cs = new char[3];
+    /** Whether white space preceded each of {@link #cs} */
+    private final boolean[] spaced = new boolean[3];
+    /** Whether the space before each of {@link #cs} is kept, before the
+     * <code>^</code> rule; known once the next character is */
+    private final boolean[] kept = new boolean[3];
+
+    void feed(final String s) {
+      for (int ¢ = 0; ¢ < s.length(); ++¢)
+        feed(s.charAt(¢));
+    }
+
+    void feed(final char ¢) {
+      if (white(¢)) {
+        white |= items > 0;
+        return;
+      }
+      cs[0] = cs[1];
+      cs[1] = cs[2];
+      cs[2] = ¢;
+      spaced[0] = spaced[1];
+      spaced[1] = spaced[2];
+      spaced[2] = white;
+      kept[0] = kept[1];
+      kept[1] = kept[2];
+      kept[2] = white = false;
+      ++items;
+      ++length;
+      if (items < 2)
+        return;
+      kept[1] = spaced[1] && !operator(cs[0]) && !operator(cs[1]) && (cs[1] != '!' || cs[2] != '=');
+      if (kept[1])
+        ++length;
+      if (items >= 3 && caret(cs[0], kept[0], kept[1], cs[1]))
+        ++length;
+    }
+
+    int length() {
+      if (items == 0)
+        return 0;
+      final boolean last = spaced[2] && !operator(cs[1]) && !operator(cs[2]);
+      int $ = length;
+      if (last)
+        ++$;
+      if (items >= 2 && caret(cs[1], kept[1], last, cs[2]))
+        ++$;
+      if (caret(cs[2], last, false, (char) 0))
+        ++$;
+      return $;
+    }
+
+    /** @return whether a character is a <code>^</code> which becomes
+     *         <code>[^]</code> */
+    private static boolean caret(final char ¢, final boolean before, final boolean after, final char next) {
+      return ¢ == '^' && (before || after && next != '^');
+    }
+
+    private static boolean operator(final char ¢) {
+      return OPERATORS.indexOf(¢) >= 0;
+    }
+
+    /** <code>\s</code> of Java regular expressions */
+    private static boolean white(final char ¢) {
+      return ¢ == ' ' || ¢ == '\t' || ¢ == '\n' || ¢ == '\u000B' || ¢ == '\f' || ¢ == '\r';
+    }
+  }
+
+  /** Counts nodes in a single walk; a method body is counted with all it
+   * contains, including methods of nested classes. */
+  private final class Collector extends ASTVisitor {
+    private ASTNode body;
+
+    @Override public void preVisit(final ASTNode ¢) {
+      ++nodes;
+      if (¢ instanceof ImportDeclaration)
+        ++imports;
+      else
+        ++noImports;
+      if (body == null && ¢.getLocationInParent() == MethodDeclaration.BODY_PROPERTY)
+        body = ¢;
+      if (body != null)
+        ++Census.this.body;
+    }
+
+    @Override public void postVisit(final ASTNode ¢) {
+      if (¢ == body)
+        body = null;
+    }
+  }
+}
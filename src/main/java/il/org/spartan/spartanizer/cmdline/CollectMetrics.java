@@ -89,8 +89,9 @@ public final class CollectMetrics {
     // TODO Matteo: make sure that the counting does not include comments.
     // Do
     // this by adding stuff to the metrics suite.
+    final Census c = Census.of(¢);
     output.put(prefix + "Length", ¢.getLength());
-    output.put(prefix + "Count", count.nodes(¢));
+    output.put(prefix + "Count", c.nodes);
     output.put(prefix + "Non whites", count.nonWhiteCharacters(¢));
     output.put(prefix + "Condensed size", metrics.condensedSize(¢));
     output.put(prefix + "Lines", count.lines(¢));
@@ -100,8 +101,8 @@ public final class CollectMetrics {
     output.put(prefix + "Internals", metrics.internals(¢));
     output.put(prefix + "Vocabulary", metrics.vocabulary(¢));
     output.put(prefix + "Literacy", metrics.literacy(¢));
-    output.put(prefix + "Imports", count.imports(¢));
-    output.put(prefix + "No Imports", count.noimports(¢));
+    output.put(prefix + "Imports", c.imports);
+    output.put(prefix + "No Imports", c.noImports);
   }
 
   private static void reportTips(final List<Tip> ¢) {
@@ -0,0 +1,161 @@
+package il.org.spartan.spartanizer.cmdline;
+
+/** Computes the essence of code, in a single linear pass per stage, exactly
+ * as the <code>essence</code> script in <code>src/test/resources</code> does
+ * it with <code>perl</code> and <code>sed</code> in the C locale: line
+ * comments, and then block comments are removed, blank lines are deleted, and
+ * spaces are squeezed out of each line. The script is reproduced character by
+ * character, quirks included: comment markers are found even in string
+ * literals, and, since <code>+</code> is not special in a <code>sed</code>
+ * basic regular expression, the first white space character followed by a
+ * <code>+</code> in a line is replaced by a space.
+ * @since 2026-10-17 */
+final class EssenceFilter {
+  /** @param ¢ JD
+   * @return the essence of the parameter */
+  static String of(final String ¢) {
+    return of(¢, new Words());
+  }
+
+  /** @param s JD
+   * @param w where the words of the essence are counted, as it is made
+   * @return the essence of the parameter */
+  static String of(final String s, final Words w) {
+    return lines(blockComments(lineComments(s)), w);
+  }
+
+  /** <code>s|//.*?\n|\n|g</code> */
+  static String lineComments(final String s) {
+    final StringBuilder $ = new StringBuilder(s.length());
+    for (int i = 0, n = s.length(); i < n;) {
+      if (s.startsWith("//", i)) {
+        final int newline = s.indexOf('\n', i + 2);
+        if (newline < 0)
+          return $.append(s, i, n) + "";
+        i = newline;
+      }
+      $.append(s.charAt(i++));
+    }
+    return $ + "";
+  }
+
+  /** <code>s#/\*(.|\n)*?\*&#47;##g</code> */
+  static String blockComments(final String s) {
+    final StringBuilder $ = new StringBuilder(s.length());
+    for (int i = 0, n = s.length(); i < n;) {
+      if (!s.startsWith("/*", i))
+        $.append(s.charAt(i++));
+      else {
+        final int end = s.indexOf("*/", i + 2);
+        if (end < 0)
+          return $.append(s, i, n) + "";
+        i = end + 2;
+      }
+    }
+    return $ + "";
+  }
+
+  /** The <code>sed</code> stages of the script, applied to each line in turn;
+   * a last line with no newline is written with no newline. */
+  static String lines(final String s) {
+    return lines(s, new Words());
+  }
+
+  static String lines(final String s, final Words w) {
+    final StringBuilder $ = new StringBuilder(s.length());
+    for (int from = 0, n = s.length(); from < n;) {
+      final int newline = s.indexOf('\n', from);
+      final int to = newline < 0 ? n : newline;
+      final String line = line(s.substring(from, to));
+      if (line != null) {
+        w.count(line);
+        $.append(line);
+        if (newline >= 0)
+          $.append('\n');
+      }
+      from = to + 1;
+    }
+    return $ + "";
+  }
+
+  /** @return the line with spaces squeezed out of it, or
+   *         <code><b>null</b></code> if the line is blank, and should be
+   *         deleted */
+  static String line(final String s) {
+    int from = 0, to = s.length();
+    while (from < to && white(s.charAt(from)))
+      ++from;
+    if (from == to)
+      return null;
+    while (white(s.charAt(to - 1)))
+      --to;
+    return squeeze(squeeze(squeeze(plus(s.substring(from, to)), false, false), false, true), true, false);
+  }
+
+  /** <code>s/\s+/ /</code>, where <code>+</code> is literal */
+  private static String plus(final String s) {
+    for (int ¢ = 0; ¢ < s.length() - 1; ++¢)
+      if (white(s.charAt(¢)) && s.charAt(¢ + 1) == '+')
+        return s.substring(0, ¢) + " " + s.substring(¢ + 2);
+    return s;
+  }
+
+  /** <code>s/\(c1\) \(c2\)/\1\2/g</code>, where each of <code>c1</code> and
+   * <code>c2</code> is either <code>[a-zA-Z$_]</code> or its complement */
+  private static String squeeze(final String s, final boolean letter1, final boolean letter2) {
+    final StringBuilder $ = new StringBuilder(s.length());
+    for (int i = 0, n = s.length(); i < n;)
+      if (i + 2 >= n || letter(s.charAt(i)) != letter1 || s.charAt(i + 1) != ' ' || letter(s.charAt(i + 2)) != letter2)
+        $.append(s.charAt(i++));
+      else {
+        $.append(s.charAt(i)).append(s.charAt(i + 2));
+        i += 3;
+      }
+    return $ + "";
+  }
+
+  /** Counts the words of an essence, a line at a time, as
+   * {@link code#wc(String)} counts them in the whole of it */
+  static final class Words {
+    private int count;
+    /** Words made of control characters only, since the last word with a
+     * visible character; <code>trim()</code> drops them if no such word
+     * follows */
+    private int hidden;
+    private boolean visible;
+
+    /** @param line a line of the essence, without its newline */
+    void count(final String line) {
+      for (int i = 0, n = line.length(); i < n;) {
+        if (white(line.charAt(i))) {
+          ++i;
+          continue;
+        }
+        boolean shown = false;
+        for (; i < n && !white(line.charAt(i)); ++i)
+          shown |= line.charAt(i) > ' ';
+        if (!shown)
+          ++hidden;
+        else {
+          count += visible ? hidden + 1 : 1;
+          hidden = 0;
+          visible = true;
+        }
+      }
+    }
+
+    /** @return the number of words counted */
+    int count() {
+      return count;
+    }
+  }
+
+  private static boolean letter(final char ¢) {
+    return ¢ >= 'a' && ¢ <= 'z' || ¢ >= 'A' && ¢ <= 'Z' || ¢ == '$' || ¢ == '_';
+  }
+
+  /** <code>\s</code> of <code>sed</code>, within a line */
+  private static boolean white(final char ¢) {
+    return ¢ == ' ' || ¢ == '\t' || ¢ == '\u000B' || ¢ == '\f' || ¢ == '\r';
+  }
+}
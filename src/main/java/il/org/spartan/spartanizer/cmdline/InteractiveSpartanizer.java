@@ -50,6 +50,8 @@ public final class InteractiveSpartanizer {
   public Toolbox toolbox = Toolbox.defaultInstance();
 
   public InteractiveSpartanizer disable(final Class<? extends TipperCategory> ¢) {
+    if (toolbox.isSnapshot())
+      toolbox = toolbox.muttableCopy();
     toolbox.disable(¢);
     return this;
   }
@@ -78,7 +80,7 @@ public final class InteractiveSpartanizer {
   boolean changed;
 
   @SafeVarargs public final <N extends ASTNode> InteractiveSpartanizer add(final Class<N> n, final Tipper<N>... ns) {
-    if (!changed)
+    if (!changed || toolbox.isSnapshot())
       toolbox = Toolbox.muttableDefaultInstance();
     changed = true;
     toolbox.add(n, ns);
@@ -0,0 +1,129 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+/** An append only, buffered output file, to which a run writes the code of
+ * many files, opened once for the whole run, rather than once per file. Each
+ * {@link #write(String, String)} is recorded in an index file, next to the
+ * output, by a line of the form <code>offset length name</code>, separated by
+ * tabs, so that the text of a single entry can be read without scanning the
+ * output.
+ * <p>
+ * An output whose name ends with <code>.gz</code> is compressed, entry by
+ * entry: each entry is a gzip member of its own, which is where its offset and
+ * length point; the whole output is still a valid gzip file, made of all
+ * members in order.
+ * <p>
+ * Buffers are flushed at least every {@link #FLUSH_INTERVAL} milliseconds of
+ * writing, and when the sink is closed. Instances may be shared by threads.
+ * @since 2026-10-17 */
+public final class OutputSink implements Closeable {
+  /** Suffix of the name of the index of an output file */
+  public static final String INDEX = ".index";
+  /** Suffix of the name of a compressed output file */
+  public static final String GZIP = ".gz";
+  /** Longest time, in milliseconds, during which written text may stay in
+   * buffers */
+  public static final long FLUSH_INTERVAL = 1000;
+  private static final int BUFFER = 1 << 16;
+  private final OutputStream output;
+  private final Writer index;
+  private final boolean compressed;
+  private long offset;
+  private long flushed = System.nanoTime();
+
+  /** @param fileName name of the output file, compressed if it ends with
+   *        {@link #GZIP}; its index is written to the same name, followed by
+   *        {@link #INDEX}
+   * @throws IOException if either file cannot be created */
+  public OutputSink(final String fileName) throws IOException {
+    this(new File(fileName));
+  }
+
+  /** @param f output file, compressed if its name ends with {@link #GZIP}
+   * @throws IOException if the file or its index cannot be created */
+  public OutputSink(final File f) throws IOException {
+    compressed = f.getName().endsWith(GZIP);
+    output = new BufferedOutputStream(new FileOutputStream(f), BUFFER);
+    index = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(f.getPath() + INDEX), StandardCharsets.UTF_8), BUFFER);
+  }
+
+  /** Appends an entry, and records it in the index
+   * @param name of the entry, e.g., of the file its text was made of
+   * @param text JD
+   * @throws IOException */
+  public synchronized void write(final String name, final String text) throws IOException {
+    final long $ = offset;
+    append(text);
+    index.write($ + "\t" + (offset - $) + "\t" + name + "\n");
+    flushIfDue();
+  }
+
+  /** Appends text, with no record in the index
+   * @param text JD
+   * @throws IOException */
+  public synchronized void write(final String text) throws IOException {
+    append(text);
+    flushIfDue();
+  }
+
+  /** @return number of bytes written to the output file so far */
+  public synchronized long size() {
+    return offset;
+  }
+
+  @Override public synchronized void close() throws IOException {
+    try (OutputStream o = output; Writer i = index) {
+      o.flush();
+      i.flush();
+    }
+  }
+
+  /** @param f output file
+   * @param offset of an entry, as recorded in the index
+   * @param length of an entry, as recorded in the index
+   * @return the text of the entry
+   * @throws IOException */
+  public static String read(final File f, final long offset, final int length) throws IOException {
+    final byte[] $ = new byte[length];
+    try (RandomAccessFile r = new RandomAccessFile(f, "r")) {
+      r.seek(offset);
+      r.readFully($);
+    }
+    if (!f.getName().endsWith(GZIP))
+      return new String($, StandardCharsets.UTF_8);
+    try (Reader r = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream($)), StandardCharsets.UTF_8)) {
+      final StringBuilder s = new StringBuilder();
+      final char[] buffer = new char[BUFFER];
+      for (int n = r.read(buffer); n >= 0; n = r.read(buffer))
+        s.append(buffer, 0, n);
+      return s + "";
+    }
+  }
+
+  private void append(final String text) throws IOException {
+    final byte[] $ = compressed ? compress(text) : text.getBytes(StandardCharsets.UTF_8);
+    output.write($);
+    offset += $.length;
+  }
+
+  private static byte[] compress(final String text) throws IOException {
+    final ByteArrayOutputStream $ = new ByteArrayOutputStream();
+    try (GZIPOutputStream z = new GZIPOutputStream($)) {
+      z.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    return $.toByteArray();
+  }
+
+  private void flushIfDue() throws IOException {
+    final long now = System.nanoTime();
+    if (now - flushed < TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL))
+      return;
+    flushed = now;
+    output.flush();
+    index.flush();
+  }
+}
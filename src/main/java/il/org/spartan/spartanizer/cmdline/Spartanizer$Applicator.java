@@ -32,6 +32,12 @@ public class Spartanizer$Applicator {
   CSVStatistics spectrumStats; // = new CSVStatistics(spectrumFileName,
                                // "property");
   final ChainStringToIntegerMap spectrum = new ChainStringToIntegerMap();
+  /** Whether {@link #go(CompilationUnit)} spartanizes the selected nodes in the
+   * tree of their compilation unit, rather than each in a tree of its own; off
+   * by default */
+  boolean inPlace;
+  /** Passes made by the last {@link #fixedPoint(Document, int[])} */
+  int passes;
 
   /** Instantiates this class */
   public Spartanizer$Applicator() {
@@ -75,15 +81,54 @@ public class Spartanizer$Applicator {
   }
 
   void go(final CompilationUnit u) {
-    u.accept(new ASTVisitor() {
-      @Override public boolean preVisit2(final ASTNode ¢) {
-        return !selectedNodeTypes.contains(¢.getClass()) || !filter(¢) || go(¢);
-      }
-    });
+    if (inPlace) {
+      goInPlace(u);
+      return;
+    }
+    for (final ASTNode ¢ : selected(u))
+      go(¢);
   }
 
   boolean go(final ASTNode input) {
     tippersAppliedOnCurrentObject = 0;
+    final String out = fixedPoint(input + "");
+    report(input, out, makeAST.CLASS_BODY_DECLARATIONS.from(out));
+    return false;
+  }
+
+  /** Spartanizes all selected nodes of a compilation unit in the tree of the
+   * unit, and reports each of these
+   * @param u JD */
+  void goInPlace(final CompilationUnit u) {
+    final List<ASTNode> from = selected(u);
+    if (from.isEmpty())
+      return;
+    final int[] tips = new int[from.size()];
+    final Document d = new Document(u + "");
+    final CompilationUnit fixed = fixedPoint(d, tips);
+    if (fixed == null) {
+      for (final ASTNode ¢ : from)
+        go(¢);
+      return;
+    }
+    final List<ASTNode> to = selected(fixed);
+    for (int ¢ = 0; ¢ < tips.length; ++¢) {
+      tippersAppliedOnCurrentObject = tips[¢];
+      report(from.get(¢), text(to.get(¢), d), to.get(¢));
+    }
+  }
+
+  /** @param n a node parsed from a document
+   * @param d JD
+   * @return the text of the node in the document */
+  static String text(final ASTNode n, final Document d) {
+    return d.get().substring(n.getStartPosition(), n.getStartPosition() + n.getLength());
+  }
+
+  /** @param input a selected node, before it was spartanized
+   * @param out its text, once spartanized
+   * @param to its tree, once spartanized */
+  void report(final ASTNode input, final String out, final ASTNode to) {
     final int length = input.getLength();
     final int tokens = metrics.tokens(input + "");
     final int nodes = count.nodes(input);
@@ -91,20 +136,22 @@ public class Spartanizer$Applicator {
     final int statements = extract.statements(az.methodDeclaration(input).getBody()).size();
     final int tide = clean(input + "").length();
     final int essence = Essence.of(input + "").length();
-    final String out = fixedPoint(input + "");
     final int length2 = out.length();
     final int tokens2 = metrics.tokens(out);
     final int tide2 = clean(out + "").length();
     final int essence2 = Essence.of(out + "").length();
     final int wordCount = code.wc(il.org.spartan.spartanizer.cmdline.Essence.of(out + ""));
-    final ASTNode to = makeAST.CLASS_BODY_DECLARATIONS.from(out);
     final int nodes2 = count.nodes(to);
     final int body2 = metrics.bodySize(to);
     final MethodDeclaration methodDeclaration = az.methodDeclaration(to);
     final int statements2 = methodDeclaration == null ? -1 : extract.statements(methodDeclaration.getBody()).size();
     System.err.println(++done + " " + extract.category(input) + " " + extract.name(input));
-    befores.print(input);
-    afters.print(out);
+    if (befores != null)
+      befores.print(input);
+    if (afters != null)
+      afters.print(out);
+    if (report == null)
+      return;
     report.summaryFileName();
     report//
         // .put("File", currentFile)//
@@ -153,7 +200,65 @@ public class Spartanizer$Applicator {
         .put("R(B/S)", system.ratio(nodes, body)) //
     ;
     report.nl();
-    return false;
+  }
+
+  /** Spartanizes the selected nodes of a compilation unit to a fixed point,
+   * working on their subtrees in the tree of the whole unit, rather than on the
+   * text of each: a pass parses the unit once, and tips all nodes which have
+   * not converged yet, through a single {@link ASTRewrite} of its document. A
+   * node converges once a pass finds no tip in it.
+   * @param d the document of the unit, which is changed
+   * @param tips number of tips applied to each selected node, in order
+   * @return the tree of the unit, once no selected node of it can be tipped, or
+   *         <code><b>null</b></code> if a tip added or removed a selected
+   *         node */
+  CompilationUnit fixedPoint(final Document d, final int[] tips) {
+    final boolean[] converged = new boolean[tips.length];
+    for (passes = 1;; ++passes) {
+      final CompilationUnit $ = parse(d.get());
+      final List<ASTNode> ns = selected($);
+      if (ns.size() != tips.length)
+        return null;
+      final ASTRewrite r = ASTRewrite.create($.getAST());
+      for (int ¢ = 0; ¢ < tips.length; ++¢)
+        if (!converged[¢]) {
+          tippersAppliedOnCurrentObject = 0;
+          consolidateTips(r, (BodyDeclaration) ns.get(¢));
+          tips[¢] += tippersAppliedOnCurrentObject;
+          converged[¢] = tippersAppliedOnCurrentObject == 0;
+        }
+      final TextEdit e = r.rewriteAST(d, null);
+      try {
+        e.apply(d);
+      } catch (final MalformedTreeException | IllegalArgumentException | BadLocationException x) {
+        monitor.logEvaluationError(this, x);
+        throw new AssertionError(x);
+      }
+      if (!e.hasChildren())
+        return $;
+    }
+  }
+
+  /** @param ¢ the text of a compilation unit
+   * @return its tree */
+  @SuppressWarnings("static-method") CompilationUnit parse(final String ¢) {
+    return (CompilationUnit) makeAST.COMPILATION_UNIT.from(¢);
+  }
+
+  /** @param u JD
+   * @return the nodes of the parameter which are spartanized, in order; nodes
+   *         nested in these are not */
+  List<ASTNode> selected(final CompilationUnit u) {
+    final List<ASTNode> $ = new ArrayList<>();
+    u.accept(new ASTVisitor() {
+      @Override public boolean preVisit2(final ASTNode ¢) {
+        if (!selectedNodeTypes.contains(¢.getClass()) || !filter(¢))
+          return true;
+        $.add(¢);
+        return false;
+      }
+    });
+    return $;
   }
 
   /** @param input
@@ -235,10 +340,8 @@ public class Spartanizer$Applicator {
 
       /** @param w */
       <N extends ASTNode> void tick(final Tipper<N> w) {
-        final String key = monitor.className(w.getClass());
-        if (!spectrum.containsKey(key))
-          spectrum.put(key, 0);
-        spectrum.put(key, spectrum.get(key) + 1);
+        // put() of a ChainStringToIntegerMap does not replace a value
+        spectrum.inner.merge(monitor.className(w.getClass()), Integer.valueOf(1), Integer::sum);
       }
 
       @Override protected void initialization(final ASTNode ¢) {
@@ -247,8 +350,30 @@ public class Spartanizer$Applicator {
     });
   }
 
-  static boolean filter(@SuppressWarnings("unused") final ASTNode __) {
-    return false;
+  /** @param ¢ a node of one of the selected types
+   * @return <code><b>true</b></code> <em>iff</em> the parameter is spartanized:
+   *         only methods, which {@link #report(ASTNode, String, ASTNode)}
+   *         expects, are, and only {@link #inPlace(boolean) in place} */
+  boolean filter(final ASTNode ¢) {
+    return inPlace && ¢ instanceof MethodDeclaration;
+  }
+
+  /** @param befores where the text of each selected node is written, or
+   *        <code><b>null</b></code>
+   * @param afters where its text, once spartanized, is written, or
+   *        <code><b>null</b></code>
+   * @param report where its metrics are written, or <code><b>null</b></code> */
+  public void outputs(final PrintStream befores, final PrintStream afters, final CSVStatistics report) {
+    this.befores = befores;
+    this.afters = afters;
+    this.report = report;
+  }
+
+  /** @param ¢ whether to spartanize the methods in the tree of their
+   *        compilation unit, parsing it once per pass; off by default, in which
+   *        case nothing is selected */
+  public void inPlace(final boolean ¢) {
+    inPlace = ¢;
   }
 
   @SuppressWarnings("static-method") public void selectedNodes(@SuppressWarnings("unchecked") final Class<? extends BodyDeclaration>... ¢) {
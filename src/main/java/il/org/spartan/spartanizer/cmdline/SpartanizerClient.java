@@ -0,0 +1,123 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.security.*;
+
+/** Thin client of a {@link SpartanizerDaemon}, which makes sure, before any
+ * request, and hence before rewriting any file, that the daemon knows the
+ * token in {@link SpartanizerDaemon#tokenFile(int)}
+ * @since 2026-10-17 */
+public class SpartanizerClient implements Closeable {
+  /** Usage: <code>SpartanizerClient [-p port] [-t] [-w] [-stop] files</code>;
+   * prints the spartanized text of each file, or with <code>-t</code>, its
+   * tips; with <code>-w</code>, files are spartanized in place.
+   * @param args command line arguments
+   * @throws IOException if the daemon could not be reached */
+  public static void main(final String[] args) throws IOException {
+    int port = SpartanizerDaemon.PORT, ¢ = 0;
+    boolean tips = false, inPlace = false, stop = false;
+    for (; ¢ < args.length && args[¢].startsWith("-"); ++¢)
+      if ("-p".equals(args[¢]))
+        port = Integer.parseInt(args[++¢]);
+      else if ("-t".equals(args[¢]))
+        tips = true;
+      else if ("-w".equals(args[¢]))
+        inPlace = true;
+      else if ("-stop".equals(args[¢]))
+        stop = true;
+    try (SpartanizerClient c = new SpartanizerClient(port)) {
+      for (; ¢ < args.length; ++¢) {
+        final Path p = Paths.get(args[¢]);
+        final String text = new String(Files.readAllBytes(p), StandardCharsets.UTF_8);
+        if (tips) {
+          for (final String line : c.tips(text).split("\n"))
+            if (!line.isEmpty())
+              System.out.println(args[¢] + ":" + line);
+          continue;
+        }
+        final String fixed = c.fixed(text);
+        if (!inPlace)
+          System.out.print(fixed);
+        else if (!fixed.equals(text))
+          Files.write(p, fixed.getBytes(StandardCharsets.UTF_8));
+      }
+      if (stop)
+        c.stop();
+    }
+  }
+
+  private final Socket socket;
+  private final InputStream in;
+  private final OutputStream out;
+
+  /** @param port of the daemon, on the loopback address
+   * @throws IOException if the daemon could not be reached, or either side
+   *         could not prove it knows the token */
+  public SpartanizerClient(final int port) throws IOException {
+    this(port, new String(Files.readAllBytes(SpartanizerDaemon.tokenFile(port).toPath()), StandardCharsets.UTF_8));
+  }
+
+  SpartanizerClient(final int port, final String token) throws IOException {
+    socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    in = new BufferedInputStream(socket.getInputStream());
+    out = new BufferedOutputStream(socket.getOutputStream());
+    try {
+      authenticate(token);
+    } catch (final IOException x) {
+      socket.close();
+      throw x;
+    }
+  }
+
+  private void authenticate(final String token) throws IOException {
+    final String nonce = SpartanizerDaemon.random(16);
+    final String[] ws = request("HELLO", nonce).split(" ");
+    if (ws.length != 2 || !MessageDigest.isEqual(SpartanizerDaemon.utf8(SpartanizerDaemon.mac(token, "daemon " + nonce)), SpartanizerDaemon.utf8(ws[1])))
+      throw new IOException("Not a daemon of this user on port " + socket.getPort());
+    request("AUTH", SpartanizerDaemon.mac(token, "client " + ws[0]));
+  }
+
+  /** @param text JD
+   * @return the fixed point of the parameter */
+  public String fixed(final String text) throws IOException {
+    return request("FIX", text);
+  }
+
+  /** @param text JD
+   * @return the tips offered on the parameter, one per line, each as its line
+   *         number, a tab, and its description */
+  public String tips(final String text) throws IOException {
+    return request("TIPS", text);
+  }
+
+  public void ping() throws IOException {
+    request("PING", "");
+  }
+
+  /** Stops the daemon */
+  public void stop() throws IOException {
+    request("STOP", "");
+  }
+
+  @Override public void close() throws IOException {
+    socket.close();
+  }
+
+  String request(final String command, final String text) throws IOException {
+    SpartanizerDaemon.write(out, command, text);
+    final String response = SpartanizerDaemon.readLine(in);
+    if (response == null)
+      throw new EOFException("Daemon closed the connection");
+    final String[] ws = response.split(" ");
+    final int bytes = SpartanizerDaemon.bytes(ws);
+    if (bytes < 0)
+      throw new IOException("Malformed response " + response);
+    final String $ = SpartanizerDaemon.read(in, bytes);
+    if (!"OK".equals(ws[0]))
+      throw new IOException($);
+    return $;
+  }
+}
@@ -0,0 +1,310 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import javax.crypto.*;
+import javax.crypto.spec.*;
+
+import il.org.spartan.plugin.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** A resident spartanizer, which keeps its tippers loaded and its JIT warm,
+ * and serves {@link SpartanizerClient}s on a socket bound to the loopback
+ * address, so that short runs, e.g., from a pre-commit hook, do not pay for
+ * starting a JVM and loading hundreds of tipper classes.
+ * <p>
+ * On start, the daemon writes a random token to a file only its user can
+ * read, {@link #tokenFile(int)}. A connection must begin with a handshake, in
+ * which each side proves it knows the token, by a MAC of a nonce of the other
+ * side; a client thus never takes a rewrite from a process of another user
+ * listening on the port:
+ * <ul>
+ * <li><code>HELLO</code>, with a nonce of the client: responds with a nonce of
+ * the daemon, a space, and the MAC of the nonce of the client;
+ * <li><code>AUTH</code>, with the MAC of the nonce of the daemon: responds
+ * with nothing.
+ * </ul>
+ * A connection carries any number of requests. A request is a line with a
+ * command and a number of bytes, at most {@link #MAX_BYTES}, followed by that
+ * many bytes of UTF-8 text:
+ * <ul>
+ * <li><code>FIX</code>: responds with the fixed point of the text;
+ * <li><code>TIPS</code>: responds with the tips offered on the text, one per
+ * line, each as its line number, a tab, and its description;
+ * <li><code>PING</code>: responds with nothing;
+ * <li><code>STOP</code>: responds with nothing, and stops the daemon.
+ * </ul>
+ * A response is a line of <code>OK</code> or <code>ERROR</code> and a number
+ * of bytes, followed by that many bytes of UTF-8 text. A malformed request, or
+ * a failed handshake, is answered with <code>ERROR</code>, and ends the
+ * connection.
+ * @since 2026-10-17 */
+public class SpartanizerDaemon implements Closeable {
+  /** Default port */
+  public static final int PORT = 7474;
+  /** Largest text of a request */
+  public static final int MAX_BYTES = 1 << 24;
+  /** Longest header line */
+  static final int MAX_LINE = 256;
+  /** Connections served at once; others wait in a queue of the same size */
+  static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+  static final String MAC = "HmacSHA256";
+  /** Spartanized a few times on start, to load tipper classes and warm the
+   * JIT */
+  private static final String WARM_UP = "class A {\n" //
+      + "  int f(int a) { int b = a; if (b == 0) return 2; else return 3; }\n" //
+      + "  boolean g(boolean b) { return b == true; }\n" //
+      + "  void h(java.util.List<String> xs) { for (String x : xs) { if (x != null) { System.out.println(x); } } }\n" //
+      + "}";
+
+  /** Usage: <code>SpartanizerDaemon [-p port]</code>
+   * @param args command line arguments
+   * @throws IOException if the port could not be bound */
+  public static void main(final String[] args) throws IOException {
+    try (SpartanizerDaemon $ = new SpartanizerDaemon(args.length == 2 && "-p".equals(args[0]) ? Integer.parseInt(args[1]) : PORT)) {
+      $.warmUp();
+      System.err.println("Spartanizer daemon listening on port " + $.port());
+      $.serve();
+    }
+  }
+
+  /** @param port of a daemon
+   * @return the file holding the token of the daemon listening on this port */
+  public static File tokenFile(final int port) {
+    return new File(new File(System.getProperty("user.home"), ".spartanizer"), "daemon-" + port + ".token");
+  }
+
+  private final ServerSocket server;
+  private final ExecutorService workers = new ThreadPoolExecutor(THREADS, THREADS, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(THREADS), ¢ -> {
+    final Thread $ = new Thread(¢, "spartanizer-daemon");
+    $.setDaemon(true);
+    return $;
+  });
+  /** The spartanizer is not thread safe; one per worker */
+  private final ThreadLocal<InteractiveSpartanizer> spartanizers = ThreadLocal.withInitial(InteractiveSpartanizer::new);
+  private final String token = random(32);
+  private final File tokenFile;
+
+  /** @param port where to listen; 0 for any free port
+   * @throws IOException if the port could not be bound, or the token could
+   *         not be written */
+  public SpartanizerDaemon(final int port) throws IOException {
+    server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    tokenFile = tokenFile(port());
+    try {
+      writeToken();
+    } catch (final IOException x) {
+      server.close();
+      throw x;
+    }
+  }
+
+  /** @return the port this instance listens on */
+  public int port() {
+    return server.getLocalPort();
+  }
+
+  public void warmUp() {
+    for (int ¢ = 0; ¢ < 20; ++¢) {
+      spartanizers.get().fixedPoint(WARM_UP);
+      tips(WARM_UP);
+    }
+  }
+
+  /** Serves connections, each on a thread of its own, until {@link #close()}
+   * is called, or a <code>STOP</code> request is served */
+  public void serve() {
+    while (!server.isClosed())
+      try {
+        final Socket s = server.accept();
+        try {
+          workers.execute(() -> serve(s));
+        } catch (final RejectedExecutionException x) {
+          monitor.infoIOException(x, "busy");
+          s.close();
+        }
+      } catch (final IOException x) {
+        if (!server.isClosed())
+          monitor.infoIOException(x, "accept");
+      }
+  }
+
+  @Override public void close() throws IOException {
+    server.close();
+    workers.shutdownNow();
+    tokenFile.delete();
+  }
+
+  void serve(final Socket s) {
+    try (Socket ¢ = s; InputStream in = new BufferedInputStream(¢.getInputStream()); OutputStream out = new BufferedOutputStream(¢.getOutputStream())) {
+      final Session session = new Session();
+      for (String request = readLine(in); request != null; request = readLine(in)) {
+        final String[] ws = request.split(" ");
+        final int bytes = bytes(ws);
+        if (bytes < 0) {
+          write(out, "ERROR", "Malformed request " + request);
+          return;
+        }
+        final String text = read(in, bytes);
+        try {
+          write(out, "OK", session.respond(ws[0], text));
+        } catch (final SecurityException x) {
+          write(out, "ERROR", x + "");
+          return;
+        } catch (final RuntimeException | AssertionError x) {
+          write(out, "ERROR", x + "");
+        }
+        if ("STOP".equals(ws[0])) {
+          close();
+          return;
+        }
+      }
+    } catch (final IOException x) {
+      monitor.infoIOException(x, "request");
+    }
+  }
+
+  /** @param ws words of a header line
+   * @return the number of bytes it announces, or -1 if it is malformed */
+  static int bytes(final String[] ws) {
+    if (ws.length < 2)
+      return 0;
+    try {
+      final int $ = Integer.parseInt(ws[1]);
+      return $ < 0 || $ > MAX_BYTES ? -1 : $;
+    } catch (final NumberFormatException x) {
+      return -1;
+    }
+  }
+
+  /** State of a connection: its handshake */
+  private class Session {
+    private String nonce;
+    private boolean authenticated;
+
+    String respond(final String command, final String text) {
+      switch (command) {
+        case "HELLO":
+          nonce = random(16);
+          return nonce + " " + mac(token, "daemon " + text);
+        case "AUTH":
+          if (nonce == null || !MessageDigest.isEqual(utf8(mac(token, "client " + nonce)), utf8(text)))
+            throw new SecurityException("Authentication failed");
+          authenticated = true;
+          return "";
+        default:
+          if (!authenticated)
+            throw new SecurityException("Not authenticated");
+          return SpartanizerDaemon.this.respond(command, text);
+      }
+    }
+  }
+
+  private String respond(final String command, final String text) {
+    switch (command) {
+      case "FIX":
+        return spartanizers.get().fixedPoint(text);
+      case "TIPS":
+        return tips(text);
+      case "PING":
+      case "STOP":
+        return "";
+      default:
+        throw new IllegalArgumentException("Unknown command " + command);
+    }
+  }
+
+  private String tips(final String text) {
+    final List<Tip> ts = new ArrayList<>();
+    makeAST.COMPILATION_UNIT.from(text).accept(spartanizers.get().collect(ts));
+    final StringBuilder $ = new StringBuilder();
+    for (final Tip ¢ : ts)
+      $.append(¢.lineNumber).append('\t').append((¢.description + "").replaceAll("\\s+", " ")).append('\n');
+    return $ + "";
+  }
+
+  /** Writes the token to a file only the user may read */
+  private void writeToken() throws IOException {
+    final Path $ = tokenFile.toPath();
+    Files.createDirectories($.getParent());
+    Files.deleteIfExists($);
+    if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix"))
+      Files.createFile($);
+    else {
+      Files.setPosixFilePermissions($.getParent(), PosixFilePermissions.fromString("rwx------"));
+      Files.createFile($, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+    }
+    Files.write($, utf8(token));
+  }
+
+  /** @param bytes JD
+   * @return so many random bytes, hexadecimal */
+  static String random(final int bytes) {
+    final byte[] $ = new byte[bytes];
+    new SecureRandom().nextBytes($);
+    return hex($);
+  }
+
+  /** @param key JD
+   * @param text JD
+   * @return the MAC of the text under the key, hexadecimal */
+  static String mac(final String key, final String text) {
+    try {
+      final Mac $ = Mac.getInstance(MAC);
+      $.init(new SecretKeySpec(utf8(key), MAC));
+      return hex($.doFinal(utf8(text)));
+    } catch (final GeneralSecurityException x) {
+      throw new IllegalStateException(x);
+    }
+  }
+
+  static String hex(final byte[] bs) {
+    final StringBuilder $ = new StringBuilder();
+    for (final byte ¢ : bs)
+      $.append(String.format("%02x", Byte.valueOf(¢)));
+    return $ + "";
+  }
+
+  static byte[] utf8(final String ¢) {
+    return ¢.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** @return the next line, without its terminating newline, or
+   *         <code><b>null</b></code> at end of stream
+   * @throws IOException if the line is longer than {@link #MAX_LINE} */
+  static String readLine(final InputStream s) throws IOException {
+    final ByteArrayOutputStream $ = new ByteArrayOutputStream();
+    for (int ¢ = s.read();; ¢ = s.read()) {
+      if (¢ == -1)
+        return $.size() == 0 ? null : $.toString("UTF-8");
+      if (¢ == '\n')
+        return $.toString("UTF-8");
+      if ($.size() >= MAX_LINE)
+        throw new IOException("Header longer than " + MAX_LINE);
+      $.write(¢);
+    }
+  }
+
+  /** @return the next bytes of the stream, decoded */
+  static String read(final InputStream s, final int bytes) throws IOException {
+    final byte[] $ = new byte[bytes];
+    new DataInputStream(s).readFully($);
+    return new String($, StandardCharsets.UTF_8);
+  }
+
+  /** Writes a header line, of a word and the size of the text, and then the
+   * text */
+  static void write(final OutputStream s, final String word, final String text) throws IOException {
+    final byte[] bs = text.getBytes(StandardCharsets.UTF_8);
+    s.write((word + " " + bs.length + "\n").getBytes(StandardCharsets.UTF_8));
+    s.write(bs);
+    s.flush();
+  }
+}
@@ -0,0 +1,134 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+import org.eclipse.jdt.core.*;
+import org.eclipse.jdt.core.compiler.*;
+
+import il.org.spartan.plugin.*;
+import il.org.spartan.spartanizer.dispatch.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** Spartanizes huge files, one top level type at a time: a file is read by
+ * {@link makeAST#chars(File)}, split into top level types by a scanner which
+ * only tracks braces, and each type, preceded by the package and import
+ * declarations of the file, is spartanized and written out before the next
+ * one is parsed. Memory is thus bounded by the characters of the file, and by
+ * the AST of its largest type, rather than by the AST of the whole file.
+ * <p>
+ * Usage: <code>StreamingSpartanizer input.java [output.java]</code>; output
+ * goes to the standard output if no output file is given.
+ * @since 2026-10-17 */
+public class StreamingSpartanizer {
+  public static void main(final String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("Usage: StreamingSpartanizer input.java [output.java]");
+      return;
+    }
+    final StreamingSpartanizer s = new StreamingSpartanizer(new Trimmer());
+    if (args.length == 1) {
+      final Writer w = new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()));
+      s.fire(new File(args[0]), w);
+      w.flush();
+      return;
+    }
+    try (FileChannel c = FileChannel.open(Paths.get(args[1]), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING); Writer w = new BufferedWriter(Channels.newWriter(c, Charset.defaultCharset().newEncoder(), -1))) {
+      s.fire(new File(args[0]), w);
+    }
+  }
+
+  private final Trimmer trimmer;
+
+  public StreamingSpartanizer(final Trimmer trimmer) {
+    this.trimmer = trimmer;
+  }
+
+  /** @param f what to spartanize
+   * @param w where to write the result
+   * @throws IOException if the file could not be read, or if writing
+   *         failed */
+  public void fire(final File f, final Writer w) throws IOException {
+    final char[] cs = makeAST.chars(f);
+    if (cs == null)
+      throw new FileNotFoundException(f + "");
+    fire(cs, w);
+  }
+
+  /** @param cs what to spartanize
+   * @param w where to write the result
+   * @throws IOException if writing failed */
+  public void fire(final char[] cs, final Writer w) throws IOException {
+    final int[] ends = types(cs);
+    final int headerEnd = ends[0];
+    final String header = new String(cs, 0, headerEnd);
+    if (ends.length == 1) {
+      w.write(trimmer.fixed(new String(cs)));
+      return;
+    }
+    w.write(header);
+    for (int ¢ = 1; ¢ < ends.length; ++¢)
+      w.write(strip(header, trimmer.fixed(header + new String(cs, ends[¢ - 1], ends[¢] - ends[¢ - 1]))));
+    w.write(cs, ends[ends.length - 1], cs.length - ends[ends.length - 1]);
+  }
+
+  /** No tipper rewrites package or import declarations, so a type spartanized
+   * after the header of its file begins with that header. */
+  private static String strip(final String header, final String $) {
+    if ($.startsWith(header))
+      return $.substring(header.length());
+    monitor.logProbableBug(header, new IllegalStateException("Header of file was changed"));
+    return $;
+  }
+
+  /** Splits a text into its header, i.e., the package and import declarations,
+   * and its top level types. A type ends at the closing brace of its body;
+   * comments and white space which follow it belong to the next type.
+   * @param cs JD
+   * @return the end of the header, followed by the end of each top level
+   *         type */
+  static int[] types(final char[] cs) {
+    final List<Integer> $ = new ArrayList<>();
+    final IScanner s = ToolFactory.createScanner(false, false, false, JavaCore.VERSION_1_8);
+    s.setSource(cs);
+    int header = 0, braces = 0, parentheses = 0;
+    try {
+      for (int token = s.getNextToken(); token != ITerminalSymbols.TokenNameEOF; token = s.getNextToken())
+        switch (token) {
+          case ITerminalSymbols.TokenNameSEMICOLON:
+            if (braces == 0 && $.isEmpty())
+              header = s.getCurrentTokenEndPosition() + 1;
+            break;
+          case ITerminalSymbols.TokenNameLPAREN:
+            ++parentheses;
+            break;
+          case ITerminalSymbols.TokenNameRPAREN:
+            --parentheses;
+            break;
+          case ITerminalSymbols.TokenNameLBRACE:
+            if (braces++ == 0 && $.isEmpty())
+              $.add(Integer.valueOf(header));
+            break;
+          case ITerminalSymbols.TokenNameRBRACE:
+            if (--braces == 0 && parentheses == 0)
+              $.add(Integer.valueOf(s.getCurrentTokenEndPosition() + 1));
+            break;
+          default:
+            break;
+        }
+    } catch (final InvalidInputException x) {
+      monitor.logEvaluationError(x);
+      return new int[] { cs.length };
+    }
+    if ($.isEmpty() || braces != 0)
+      return new int[] { cs.length };
+    final int[] ends = new int[$.size()];
+    for (int ¢ = 0; ¢ < ends.length; ++¢)
+      ends[¢] = $.get(¢).intValue();
+    return ends;
+  }
+}
@@ -0,0 +1,251 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import il.org.spartan.plugin.*;
+import il.org.spartan.spartanizer.dispatch.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** A persistent, on disk, cache of the results of spartanization: the fixed
+ * point of a source, and the tips offered on it, or any other text computed
+ * from a source, e.g., its measurements. Entries are kept in a
+ * subdirectory named by a hash of the {@link Toolbox#fingerprint()} of the
+ * tippers used, so a change in the tippers set, or in their code, makes the
+ * cache start afresh, without touching the entries of other tippers. An entry
+ * is named by a hash of the source text. Least recently used entries are
+ * deleted whenever the entries of the tippers grow beyond the size bound.
+ * <p>
+ * Each entry is a file, written to a temporary file and then renamed, so
+ * instances may be used by several threads, and by several processes sharing
+ * the same directory, even with different tippers. An entry which cannot be
+ * parsed, e.g., since it was truncated, is deleted, and counted as a miss.
+ * @since 2026-10-17 */
+public final class TipCache {
+  private static final String SUFFIX = ".tips";
+  private static final String TEXT_SUFFIX = ".text";
+  private final File directory;
+  private final long maxBytes;
+  private final AtomicLong bytes = new AtomicLong();
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicInteger misses = new AtomicInteger();
+
+  /** Instantiates this class
+   * @param directory where to store entries, in a subdirectory of the
+   *        tippers; created if necessary
+   * @param t the tippers whose results are cached
+   * @param maxBytes bound on the total size of entries of these tippers */
+  public TipCache(final File directory, final Toolbox t, final long maxBytes) {
+    this.directory = new File(directory, hash(t.fingerprint()));
+    this.maxBytes = maxBytes;
+    this.directory.mkdirs();
+    for (final File ¢ : entries())
+      bytes.addAndGet(¢.length());
+  }
+
+  /** Deletes all entries of the tippers of this instance */
+  public void clear() {
+    for (final File ¢ : entries())
+      ¢.delete();
+    bytes.set(0);
+  }
+
+  /** @param source JD
+   * @return the cached results of the parameter, or <code><b>null</b></code>
+   *         if there are none */
+  public Entry get(final String source) {
+    final File f = file(source, SUFFIX);
+    final String content = read(f);
+    final Entry $ = content == null ? null : Entry.parse(content);
+    if ($ == null) {
+      if (content != null)
+        delete(f);
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    f.setLastModified(System.currentTimeMillis());
+    return $;
+  }
+
+  /** @param source JD
+   * @return the text stored for the parameter by
+   *         {@link #put(String, String)}, or <code><b>null</b></code> if there
+   *         is none */
+  public String text(final String source) {
+    final File f = file(source, TEXT_SUFFIX);
+    final String $ = read(f);
+    if ($ == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    f.setLastModified(System.currentTimeMillis());
+    return $;
+  }
+
+  /** @param source JD
+   * @param text what to store for the source */
+  public void put(final String source, final String text) {
+    store(file(source, TEXT_SUFFIX), text);
+  }
+
+  /** @param source JD
+   * @param s how to compute the results of the parameter, if they are not in
+   *        the cache
+   * @return the cached results of the parameter, computed and stored in the
+   *         cache if necessary */
+  public Entry of(final String source, final InteractiveSpartanizer s) {
+    final Entry $ = get(source);
+    if ($ != null)
+      return $;
+    final List<Tip> ts = new ArrayList<>();
+    makeAST.COMPILATION_UNIT.from(source).accept(s.collect(ts));
+    return put(source, s.fixedPoint(source), ts);
+  }
+
+  /** @param source JD
+   * @param output fixed point of the source
+   * @param ts tips offered on the source
+   * @return the stored entry */
+  public Entry put(final String source, final String output, final List<Tip> ts) {
+    final Entry $ = new Entry(output, ts);
+    store(file(source, SUFFIX), $ + "");
+    return $;
+  }
+
+  private void store(final File f, final String content) {
+    final long previous = f.length();
+    if (write(f, content))
+      bytes.addAndGet(f.length() - previous);
+    if (bytes.get() > maxBytes)
+      evict();
+  }
+
+  public int hits() {
+    return hits.get();
+  }
+
+  public int misses() {
+    return misses.get();
+  }
+
+  public long bytes() {
+    return bytes.get();
+  }
+
+  /** Deletes least recently used entries, until the cache is down to three
+   * quarters of its size bound. */
+  private synchronized void evict() {
+    final File[] fs = entries();
+    Arrays.sort(fs, (f1, f2) -> Long.compare(f1.lastModified(), f2.lastModified()));
+    for (final File ¢ : fs) {
+      if (bytes.get() <= 3 * maxBytes / 4)
+        return;
+      delete(¢);
+    }
+  }
+
+  private void delete(final File f) {
+    final long length = f.length();
+    if (f.delete())
+      bytes.addAndGet(-length);
+  }
+
+  private File[] entries() {
+    final File[] $ = directory.listFiles((__, name) -> name.endsWith(SUFFIX) || name.endsWith(TEXT_SUFFIX));
+    return $ != null ? $ : new File[0];
+  }
+
+  private File file(final String source, final String suffix) {
+    return new File(directory, hash(source) + suffix);
+  }
+
+  static String hash(final String s) {
+    try {
+      final StringBuilder $ = new StringBuilder();
+      for (final byte ¢ : MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8)))
+        $.append(String.format("%02x", Byte.valueOf(¢)));
+      return $ + "";
+    } catch (final NoSuchAlgorithmException x) {
+      throw new AssertionError(x);
+    }
+  }
+
+  private static String read(final File f) {
+    try {
+      return !f.exists() ? null : new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+    } catch (final IOException x) {
+      monitor.infoIOException(x, f + "");
+      return null;
+    }
+  }
+
+  private static boolean write(final File f, final String content) {
+    try {
+      final Path $ = Files.createTempFile(f.getParentFile().toPath(), f.getName(), ".tmp");
+      Files.write($, content.getBytes(StandardCharsets.UTF_8));
+      Files.move($, f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      return true;
+    } catch (final IOException x) {
+      monitor.infoIOException(x, f + "");
+      return false;
+    }
+  }
+
+  /** The cached results of a single source
+   * @since 2026-10-17 */
+  public static final class Entry {
+    /** Fixed point of the source */
+    public final String output;
+    /** Tips offered on the source, each as its line number, a tab, and its
+     * description */
+    public final List<String> tips;
+
+    Entry(final String output, final List<Tip> ts) {
+      this.output = output;
+      tips = new ArrayList<>();
+      for (final Tip ¢ : ts)
+        tips.add(¢.lineNumber + "\t" + (¢.description + "").replaceAll("\\s+", " "));
+    }
+
+    private Entry(final List<String> tips, final String output) {
+      this.output = output;
+      this.tips = tips;
+    }
+
+    /** Inverse of {@link #toString()}
+     * @param s JD
+     * @return the entry the parameter represents, or <code><b>null</b></code>
+     *         if it is malformed, e.g., truncated */
+    static Entry parse(final String s) {
+      try {
+        final int n = Integer.parseInt(s.substring(0, s.indexOf('\n')));
+        final List<String> $ = new ArrayList<>();
+        int from = s.indexOf('\n') + 1;
+        for (int ¢ = 0; ¢ < n; ++¢) {
+          final int to = s.indexOf('\n', from);
+          $.add(s.substring(from, to));
+          from = to + 1;
+        }
+        return new Entry($, s.substring(from));
+      } catch (final NumberFormatException | IndexOutOfBoundsException x) {
+        monitor.debug(Entry.class, x);
+        return null;
+      }
+    }
+
+    /** @return the number of tips, followed by the tips, one per line,
+     *         followed by the output */
+    @Override public String toString() {
+      final StringBuilder $ = new StringBuilder().append(tips.size()).append('\n');
+      for (final String ¢ : tips)
+        $.append(¢).append('\n');
+      return $.append(output) + "";
+    }
+  }
+}
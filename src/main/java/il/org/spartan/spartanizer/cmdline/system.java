@@ -3,6 +3,8 @@ package il.org.spartan.spartanizer.cmdline;
 import static il.org.spartan.utils.Box.*;
 
 import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
 
 import il.org.spartan.java.*;
 import il.org.spartan.plugin.*;
@@ -151,7 +153,20 @@ public interface system {
     return n2 / n1;
   }
 
-  static Process shellEssenceMetrics(final String fileName) {
-    return bash("./essence <" + fileName + ">" + essenced(fileName));
+  /** @param fileName JD
+   * @return the essence of the file; bytes are taken as characters, as the
+   *         <code>essence</code> script takes them in the C locale
+   * @throws IOException if the file could not be read */
+  static String essence(final String fileName) throws IOException {
+    return code.essence(new String(Files.readAllBytes(Paths.get(fileName)), StandardCharsets.ISO_8859_1));
+  }
+
+  /** Writes the essence of a file to {@link #essenced(String)} of its name */
+  static void essenceMetrics(final String fileName) {
+    try {
+      Files.write(Paths.get(essenced(fileName)), essence(fileName).getBytes(StandardCharsets.ISO_8859_1));
+    } catch (final IOException x) {
+      monitor.infoIOException(x, fileName);
+    }
   }
 }
@@ -0,0 +1,192 @@
+package il.org.spartan.spartanizer.dispatch;
+
+import java.lang.ref.*;
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
+
+/** The source ranges of a tree in which spartanization is disabled, as a
+ * sorted array of disjoint ranges, computed in a single pass over the
+ * declarations which carry a disabler or an enabler in their Javadoc; for a
+ * compilation unit, these are found in its comment list, with no walk of the
+ * tree at all. The ranges are those of the whole tree, even if a subtree of it
+ * is scanned, and are kept in its root. A node is disabled if its start
+ * position is in one of the ranges, which is found by binary search.
+ * @since 2026-10-17 */
+final class DisabledRanges {
+  /** No ranges at all */
+  static final DisabledRanges EMPTY = new DisabledRanges(new int[0], new int[0], -1);
+  /** Ranges last found by the current thread, and the {@link AST} they were
+   * found in, sparing the search of the root of a node while a thread works on
+   * a single tree */
+  private static final ThreadLocal<Last> last = ThreadLocal.withInitial(Last::new);
+
+  /** Computes the disabled ranges of the tree of a node, unless they were
+   * computed, and the {@link AST} was not modified since, and records them in
+   * the tree's root
+   * @param n JD
+   * @return the disabled ranges in the tree of the parameter */
+  static DisabledRanges scan(final ASTNode n) {
+    final ASTNode root = n.getRoot();
+    DisabledRanges $ = NodeData.get(root, NodeData.Key.DISABLED);
+    if ($ == null || $.stamp != root.getAST().modificationCount())
+      NodeData.set(root, NodeData.Key.DISABLED, $ = compute(root));
+    last.get().set(root.getAST(), $);
+    return $;
+  }
+
+  /** @param n JD
+   * @return the disabled ranges recorded by the last {@link #scan(ASTNode)} of
+   *         the tree of the parameter, or {@link #EMPTY} if there are none */
+  static DisabledRanges of(final ASTNode n) {
+    final Last l = last.get();
+    if (l.covers(n))
+      return l.ranges;
+    final DisabledRanges $ = NodeData.get(n.getRoot(), NodeData.Key.DISABLED);
+    if ($ == null)
+      return EMPTY;
+    l.set(n.getAST(), $);
+    return $;
+  }
+
+  private static DisabledRanges compute(final ASTNode root) {
+    final long stamp = root.getAST().modificationCount();
+    final List<BodyDeclaration> markers = markers(root);
+    if (markers.isEmpty())
+      return new DisabledRanges(EMPTY.froms, EMPTY.tos, stamp);
+    final List<Marker> tops = new ArrayList<>();
+    final Deque<Marker> open = new ArrayDeque<>();
+    for (final BodyDeclaration d : markers) {
+      while (!open.isEmpty() && open.peek().to <= d.getStartPosition())
+        open.pop();
+      final boolean disabled = !open.isEmpty() && open.peek().disabled;
+      if (disabled ? !disabling.isEnabledByIdentifier(d) : !disabling.isDisabledByIdentifier(d))
+        continue;
+      final Marker m = new Marker(d, !disabled);
+      (open.isEmpty() ? tops : open.peek().children).add(m);
+      open.push(m);
+    }
+    final List<Integer> $ = new ArrayList<>();
+    for (final Marker ¢ : tops)
+      ¢.emit($);
+    final int[] froms = new int[$.size() / 2], tos = new int[$.size() / 2];
+    for (int ¢ = 0; ¢ < froms.length; ++¢) {
+      froms[¢] = $.get(2 * ¢).intValue();
+      tos[¢] = $.get(2 * ¢ + 1).intValue();
+    }
+    return new DisabledRanges(froms, tos, stamp);
+  }
+
+  /** Declarations with a Javadoc that may carry a disabler or an enabler, in
+   * the order of their start positions; only kinds of declaration on which a
+   * {@link DispatchingVisitor} dispatches are considered */
+  private static List<BodyDeclaration> markers(final ASTNode root) {
+    final List<BodyDeclaration> $ = new ArrayList<>();
+    final ASTNode u = root.getRoot();
+    final List<?> comments = u instanceof CompilationUnit ? ((CompilationUnit) u).getCommentList() : null;
+    if (comments == null) {
+      root.accept(new ASTVisitor() {
+        @Override public boolean visit(final Javadoc ¢) {
+          if (marker(¢.getParent()))
+            $.add((BodyDeclaration) ¢.getParent());
+          return false;
+        }
+      });
+      return $;
+    }
+    final int from = root.getStartPosition(), to = from + root.getLength();
+    for (final Object o : comments) {
+      final ASTNode parent = ((Comment) o).getParent();
+      if (o instanceof Javadoc && marker(parent) && parent.getStartPosition() >= from && parent.getStartPosition() < to)
+        $.add((BodyDeclaration) parent);
+    }
+    return $;
+  }
+
+  private static boolean marker(final ASTNode ¢) {
+    return ¢ instanceof TypeDeclaration || ¢ instanceof EnumDeclaration || ¢ instanceof MethodDeclaration || ¢ instanceof FieldDeclaration
+        || ¢ instanceof Initializer || ¢ instanceof EnumConstantDeclaration;
+  }
+
+  private final int[] froms;
+  private final int[] tos;
+  /** Modification count of the {@link AST} when these ranges were computed */
+  final long stamp;
+
+  private DisabledRanges(final int[] froms, final int[] tos, final long stamp) {
+    this.froms = froms;
+    this.tos = tos;
+    this.stamp = stamp;
+  }
+
+  /** @param ¢ JD
+   * @return <code><b>true</b></code> <em>iff</em> the start of the parameter
+   *         is in a disabled range */
+  boolean on(final ASTNode ¢) {
+    if (froms.length == 0)
+      return false;
+    final int position = ¢.getStartPosition();
+    if (position < 0)
+      return false;
+    final int $ = Arrays.binarySearch(froms, position);
+    return $ >= 0 || $ != -1 && position < tos[-$ - 2];
+  }
+
+  /** @return number of ranges */
+  int size() {
+    return froms.length;
+  }
+
+  private static final class Last {
+    WeakReference<AST> ast = new WeakReference<>(null);
+    DisabledRanges ranges;
+
+    void set(final AST a, final DisabledRanges r) {
+      if (ast.get() != a)
+        ast = new WeakReference<>(a);
+      ranges = r;
+    }
+
+    /** @param n JD
+     * @return <code><b>true</b></code> <em>iff</em> the parameter is of the
+     *         {@link AST} of the ranges, and it was not modified since they
+     *         were computed */
+    boolean covers(final ASTNode n) {
+      return ast.get() == n.getAST() && ranges.stamp == n.getAST().modificationCount();
+    }
+  }
+
+  /** A declaration which changes the disabled state of its range */
+  private static final class Marker {
+    final int from;
+    final int to;
+    final boolean disabled;
+    final List<Marker> children = new ArrayList<>();
+
+    Marker(final BodyDeclaration d, final boolean disabled) {
+      from = d.getStartPosition();
+      to = from + d.getLength();
+      this.disabled = disabled;
+    }
+
+    /** Adds the disabled ranges under this marker, in order */
+    void emit(final List<Integer> $) {
+      int position = from;
+      for (final Marker ¢ : children) {
+        if (disabled)
+          add($, position, ¢.from);
+        ¢.emit($);
+        position = ¢.to;
+      }
+      if (disabled)
+        add($, position, to);
+    }
+
+    private static void add(final List<Integer> $, final int from, final int to) {
+      if (from >= to)
+        return;
+      $.add(Integer.valueOf(from));
+      $.add(Integer.valueOf(to));
+    }
+  }
+}
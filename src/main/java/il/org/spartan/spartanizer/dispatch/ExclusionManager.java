@@ -5,31 +5,169 @@ import java.util.*;
 import org.eclipse.jdt.core.dom.*;
 
 import il.org.spartan.spartanizer.ast.navigate.*;
+import il.org.spartan.utils.*;
 
 /** Hack to stop the trimmer from making more tips. The class should die. It
  * serves the purpose of disabling tips of spartanization in a method, whose
  * parameters are changed. But this disabling does not belong here.
+ * <p>
+ * Excluded nodes are kept as a sorted array of the source ranges of the
+ * outermost excluded subtrees. Since the ranges of the nodes of a tree are
+ * either nested or disjoint, these ranges are disjoint, and a node is inside
+ * an excluded subtree <i>iff</i> its range is included in the range found by a
+ * binary search on its start position.
+ * <p>
+ * Source ranges are meaningful only for nodes made by the parser, of the tree
+ * whose nodes are excluded. Other nodes, e.g., made by a tipper, or copied by
+ * <code>duplicate.of</code>, which keeps the source range of the original,
+ * are excluded by identity.
  * @author Yossi Gil
  * @year 2015 */
 public final class ExclusionManager {
-  final Set<ASTNode> inner = new HashSet<>();
+  private int[] froms = new int[4];
+  private int[] tos = new int[4];
+  private ASTNode[] nodes = new ASTNode[4];
+  private int size;
+  /** The {@link AST} of the parsed tree, whose nodes are excluded by range */
+  private AST ast;
+  /** Excluded nodes which are not of the parsed tree */
+  private final Set<ASTNode> detached = new HashSet<>();
 
   public void exclude(final ASTNode ¢) {
-    inner.add(¢);
+    if (!positioned(¢))
+      detached.add(¢);
+    else
+      add(¢, ¢.getStartPosition(), ¢.getStartPosition() + ¢.getLength());
   }
 
-  public void excludeAll(final List<? extends ASTNode> ¢) {
-    inner.addAll(¢);
+  public void excludeAll(final List<? extends ASTNode> ns) {
+    for (final ASTNode ¢ : ns)
+      exclude(¢);
   }
 
   public boolean isExcluded(final ASTNode n) {
-    for (final ASTNode ancestor : hop.ancestors(n))
-      if (inner.contains(ancestor))
+    if (!detached.isEmpty())
+      for (final ASTNode ancestor : hop.ancestors(n))
+        if (detached.contains(ancestor))
+          return true;
+    final ASTNode $ = anchor(n);
+    return $ != null && isExcludedByRange($);
+  }
+
+  /** @param r JD
+   * @return <code><b>true</b></code> <em>iff</em> the parameter overlaps an
+   *         excluded subtree */
+  boolean overlapping(final Range r) {
+    for (final ASTNode ¢ : detached) {
+      final ASTNode p = anchor(¢);
+      if (p != null && p.getStartPosition() < r.to && r.from < p.getStartPosition() + p.getLength())
         return true;
-    return false;
+    }
+    final int i = floor(r.to - 1);
+    return i >= 0 && tos[i] > r.from;
+  }
+
+  void unExclude(final ASTNode n) {
+    detached.remove(n);
+    for (int ¢ = 0; ¢ < size; ++¢)
+      if (nodes[¢] == n) {
+        remove(¢, ¢ + 1);
+        return;
+      }
   }
 
-  void unExclude(final ASTNode ¢) {
-    inner.remove(¢);
+  private boolean isExcludedByRange(final ASTNode n) {
+    final int from = n.getStartPosition(), to = from + n.getLength(), i = floor(from);
+    return i >= 0 && tos[i] >= to && (froms[i] < from || tos[i] > to || isSameOrAncestor(nodes[i], n));
+  }
+
+  /** @param ¢ JD
+   * @return <code><b>true</b></code> <em>iff</em> the parameter was made by
+   *         the parser, and is of the tree whose nodes are excluded by range */
+  private boolean positioned(final ASTNode ¢) {
+    if ((¢.getFlags() & ASTNode.ORIGINAL) == 0 || ¢.getStartPosition() < 0)
+      return false;
+    if (ast == null)
+      ast = ¢.getAST();
+    return ast == ¢.getAST();
+  }
+
+  /** @param n JD
+   * @return the parameter, or its innermost ancestor, which is
+   *         {@link #positioned(ASTNode)}, or <code><b>null</b></code> if
+   *         there is none */
+  private ASTNode anchor(final ASTNode n) {
+    for (ASTNode $ = n; $ != null; $ = $.getParent())
+      if (positioned($))
+        return $;
+    return null;
+  }
+
+  private void add(final ASTNode n, final int from, final int to) {
+    int i = floor(from);
+    if (i >= 0 && tos[i] >= to) {
+      if (froms[i] < from || tos[i] > to || isSameOrAncestor(nodes[i], n))
+        return;
+      if (isSameOrAncestor(n, nodes[i])) {
+        nodes[i] = n;
+        return;
+      }
+    }
+    // Drop ranges included in the new one, and insert it in their place
+    i = i >= 0 && froms[i] == from ? i : i + 1;
+    int end = i;
+    while (end < size && tos[end] <= to)
+      ++end;
+    remove(i, end);
+    if (size == froms.length) {
+      froms = Arrays.copyOf(froms, 2 * size);
+      tos = Arrays.copyOf(tos, 2 * size);
+      nodes = Arrays.copyOf(nodes, 2 * size);
+    }
+    System.arraycopy(froms, i, froms, i + 1, size - i);
+    System.arraycopy(tos, i, tos, i + 1, size - i);
+    System.arraycopy(nodes, i, nodes, i + 1, size - i);
+    froms[i] = from;
+    tos[i] = to;
+    nodes[i] = n;
+    ++size;
+  }
+
+  /** @param from a source position
+   * @return index of the last range which starts at or before the parameter,
+   *         or -1 if there is no such range */
+  private int floor(final int from) {
+    int $ = -1;
+    for (int low = 0, high = size - 1; low <= high;) {
+      final int mid = low + high >>> 1;
+      if (froms[mid] > from)
+        high = mid - 1;
+      else
+        low = ($ = mid) + 1;
+    }
+    return $;
+  }
+
+  private void remove(final int from, final int to) {
+    if (from >= to)
+      return;
+    System.arraycopy(froms, to, froms, from, size - to);
+    System.arraycopy(tos, to, tos, from, size - to);
+    System.arraycopy(nodes, to, nodes, from, size - to);
+    size -= to - from;
+    Arrays.fill(nodes, size, size + to - from, null);
+  }
+
+  /** Decides ancestry between two nodes of the same range, by walking up the
+   * (typically empty) chain of parents of that same range.
+   * @param a JD
+   * @param n JD
+   * @return <code><b>true</b></code> <em>iff</em> the first parameter is the
+   *         second, or one of its ancestors */
+  private static boolean isSameOrAncestor(final ASTNode a, final ASTNode n) {
+    for (ASTNode ¢ = n; ¢ != null && ¢.getStartPosition() == n.getStartPosition() && ¢.getLength() == n.getLength(); ¢ = ¢.getParent())
+      if (¢ == a)
+        return true;
+    return false;
   }
-}
\ No newline at end of file
+}
@@ -2,53 +2,81 @@ package il.org.spartan.spartanizer.dispatch;
 
 import org.eclipse.jdt.core.dom.*;
 
-/** Black box implementation of data storing in {@link ASTNode}s using Objects
- * map.
+/** Black box implementation of data storing in {@link ASTNode}s. All data of
+ * a node is kept in a single array, indexed by {@link Key}, which is the only
+ * property of the node we use; JDT keeps a single property in the fields of
+ * the node, so lookups allocate nothing, and no property map is grown. Data
+ * goes away with its node, i.e., with its compilation unit.
  * @author Ori Roth */
 public class NodeData {
-  // TODO Roth: attachment.of(n).get(x)
-  // TODO: Yossi Gil, erase the above as per #1
+  /** Kinds of data stored in nodes */
+  public enum Key {
+    /** Disabled source ranges of a scanned tree, kept in its root */
+    DISABLED,
+    /** Memoized type of an expression */
+    TYPE,
+    /** Memoized metrics of a subtree */
+    METRICS,
+    /** Memoized structural hash of a subtree, for pattern matching */
+    SHAPE,
+    /** Def-use index of a method */
+    DEF_USE
+  }
+
+  private static final String PROPERTY = NodeData.class.getName();
+  private static final int KEYS = Key.values().length;
+
   /** Get property from node.
    * @param n JD
-   * @param key property name
+   * @param k property key
    * @return key property of node, null if it does not have this property. */
   @SuppressWarnings("unchecked") //
-  public static <T> T get(final ASTNode n, final String key) {
-    return n == null ? null : (T) n.getProperty(key);
+  public static <T> T get(final ASTNode n, final Key k) {
+    final Object[] $ = slots(n);
+    return $ == null ? null : (T) $[k.ordinal()];
   }
 
   /** Checks node has a property.
    * @param n JD
-   * @param key property name
+   * @param k property key
    * @return <code><b>true</b></code> <em>iff</em> node contains the key
    *         property */
-  public static boolean has(final ASTNode n, final String key) {
-    return n != null && n.properties().keySet().contains(key);
+  public static boolean has(final ASTNode n, final Key k) {
+    return get(n, k) != null;
   }
 
   /** Sets a binary flag true.
    * @param n JD
-   * @param key property name */
-  public static void set(final ASTNode n, final String key) {
-    set(n, key, Boolean.TRUE);
+   * @param k property key */
+  public static void set(final ASTNode n, final Key k) {
+    set(n, k, Boolean.TRUE);
   }
 
   /** Sets a value under key for this node.
    * @param n JD
-   * @param key property name
+   * @param k property key
    * @param value property value */
-  public static <T> T set(final ASTNode n, final String key, final T value) {
+  public static <T> T set(final ASTNode n, final Key k, final T value) {
     if (n == null)
       return null;
-    n.setProperty(key, value);
+    Object[] $ = slots(n);
+    if ($ == null) {
+      if (value == null)
+        return null;
+      n.setProperty(PROPERTY, $ = new Object[KEYS]);
+    }
+    $[k.ordinal()] = value;
     return value;
   }
 
   /** Unsets a key property for this node.
    * @param n an {@link ASTNode}
-   * @param key property name */
-  public static void unset(final ASTNode n, final String key) {
-    if (n != null)
-      n.setProperty(key, null);
+   * @param k property key */
+  public static void unset(final ASTNode n, final Key k) {
+    set(n, k, null);
+  }
+
+  private static Object[] slots(final ASTNode ¢) {
+    return ¢ == null ? null : (Object[]) ¢.getProperty(PROPERTY);
   }
 }
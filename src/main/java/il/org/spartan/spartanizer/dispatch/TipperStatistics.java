@@ -0,0 +1,254 @@
+package il.org.spartan.spartanizer.dispatch;
+
+import java.io.*;
+import java.lang.management.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import javax.management.*;
+
+import org.eclipse.jdt.core.dom.*;
+
+import il.org.spartan.plugin.*;
+import il.org.spartan.spartanizer.engine.*;
+import il.org.spartan.spartanizer.tipping.*;
+
+/** Counters of the work done by each {@link Tipper} class: calls to
+ * {@link Tipper#canTip(ASTNode)} made in dispatch, and how many of these
+ * returned <code><b>true</b></code>; calls to
+ * {@link Tipper#tip(ASTNode, ExclusionManager)}, a histogram of their
+ * duration, and how many of these failed; and how many tips were applied to a
+ * rewrite.
+ * <p>
+ * Counters are kept in {@link LongAdder}s found by a {@link ClassValue}, and
+ * only calls to <code>tip</code> are timed, so the cost is low enough to keep
+ * counting by default. Counters are exposed through JMX under
+ * {@value #NAME}, and can be dumped as CSV or as JSON.
+ * @since 2026-10-17 */
+public final class TipperStatistics implements TipperStatisticsMBean {
+  /** JMX name of {@link #instance} */
+  public static final String NAME = "il.org.spartan.spartanizer:type=TipperStatistics";
+  /** Number of buckets in a histogram of durations; bucket <i>i</i> counts
+   * durations of less than 2<sup><i>i</i></sup> nanoseconds, which are not
+   * counted in earlier buckets */
+  public static final int BUCKETS = 40;
+  /** The only instance of this class */
+  public static final TipperStatistics instance = new TipperStatistics();
+  private static final Queue<Counters> all = new ConcurrentLinkedQueue<>();
+  private static final ClassValue<Counters> counters = new ClassValue<Counters>() {
+    @Override protected Counters computeValue(final Class<?> ¢) {
+      final Counters $ = new Counters(¢);
+      all.add($);
+      return $;
+    }
+  };
+  private static volatile boolean active = true;
+  static {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(NAME));
+    } catch (final JMException | SecurityException x) {
+      monitor.logProbableBug(instance, x);
+    }
+  }
+
+  /** Same as {@link Tipper#canTip(ASTNode)}, but counted
+   * @param t JD
+   * @param n JD
+   * @return whether the tipper can tip the node */
+  public static <N extends ASTNode> boolean canTip(final Tipper<N> t, final N n) {
+    if (!active)
+      return t.canTip(n);
+    final Counters c = counters.get(t.getClass());
+    c.canTipCalls.increment();
+    if (!t.canTip(n))
+      return false;
+    c.canTipHits.increment();
+    return true;
+  }
+
+  /** Same as {@link Tipper#tip(ASTNode, ExclusionManager)}, but counted and
+   * timed
+   * @param t JD
+   * @param n JD
+   * @param m JD
+   * @return the tip made by the tipper
+   * @throws TipperFailure if the tipper failed */
+  public static <N extends ASTNode> Tip tip(final Tipper<N> t, final N n, final ExclusionManager m) throws TipperFailure {
+    if (!active)
+      return t.tip(n, m);
+    final Counters c = counters.get(t.getClass());
+    final long start = System.nanoTime();
+    try {
+      return t.tip(n, m);
+    } catch (final TipperFailure x) {
+      c.failures.increment();
+      throw x;
+    } finally {
+      c.record(System.nanoTime() - start);
+    }
+  }
+
+  /** Records a tip of the tipper applied to a rewrite
+   * @param ¢ JD */
+  public static void rewrite(final Tipper<?> ¢) {
+    if (active)
+      counters.get(¢.getClass()).rewrites.increment();
+  }
+
+  /** Writes the counters to a file, as JSON if its name ends with
+   * <code>.json</code>, and as CSV otherwise
+   * @param f JD
+   * @throws IOException */
+  public static void write(final File f) throws IOException {
+    Files.write(f.toPath(), (f.getName().endsWith(".json") ? instance.getJSON() : instance.getCSV()).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private TipperStatistics() {
+    // Singleton
+  }
+
+  @Override public boolean isActive() {
+    return active;
+  }
+
+  @Override public void setActive(final boolean ¢) {
+    active = ¢;
+  }
+
+  @Override public void reset() {
+    for (final Counters ¢ : all)
+      ¢.reset();
+  }
+
+  @Override public String[] getTippers() {
+    final List<String> $ = new ArrayList<>();
+    for (final Counters ¢ : sorted())
+      $.add(¢.tipper.getSimpleName());
+    return $.toArray(new String[$.size()]);
+  }
+
+  @Override public long getCanTipCalls() {
+    long $ = 0;
+    for (final Counters ¢ : all)
+      $ += ¢.canTipCalls.sum();
+    return $;
+  }
+
+  @Override public long getCanTipHits() {
+    long $ = 0;
+    for (final Counters ¢ : all)
+      $ += ¢.canTipHits.sum();
+    return $;
+  }
+
+  @Override public long getTips() {
+    long $ = 0;
+    for (final Counters ¢ : all)
+      $ += ¢.tips.sum();
+    return $;
+  }
+
+  @Override public long getFailures() {
+    long $ = 0;
+    for (final Counters ¢ : all)
+      $ += ¢.failures.sum();
+    return $;
+  }
+
+  @Override public long getRewrites() {
+    long $ = 0;
+    for (final Counters ¢ : all)
+      $ += ¢.rewrites.sum();
+    return $;
+  }
+
+  /** @return a header line, followed by a line per tipper; the histogram is a
+   *         space separated list of <code>bucket:count</code> pairs of its non
+   *         empty buckets */
+  @Override public String getCSV() {
+    final StringBuilder $ = new StringBuilder("Tipper,CanTipCalls,CanTipHits,Tips,Failures,Rewrites,TipNanos,Histogram\n");
+    for (final Counters c : sorted()) {
+      $.append(c.tipper.getSimpleName()).append(',').append(c.canTipCalls.sum()).append(',').append(c.canTipHits.sum()).append(',')
+          .append(c.tips.sum()).append(',').append(c.failures.sum()).append(',').append(c.rewrites.sum()).append(',').append(c.nanos.sum())
+          .append(',');
+      String separator = "";
+      for (int ¢ = 0; ¢ < BUCKETS; ++¢)
+        if (c.histogram.get(¢) != 0) {
+          $.append(separator).append(¢).append(':').append(c.histogram.get(¢));
+          separator = " ";
+        }
+      $.append('\n');
+    }
+    return $ + "";
+  }
+
+  /** @return an array with an object per tipper; the histogram is an array of
+   *         counts, up to the last non empty bucket */
+  @Override public String getJSON() {
+    final StringBuilder $ = new StringBuilder("[");
+    String separator = "\n";
+    for (final Counters c : sorted()) {
+      $.append(separator).append("  {\"tipper\": \"").append(c.tipper.getName()).append("\", \"canTipCalls\": ").append(c.canTipCalls.sum())
+          .append(", \"canTipHits\": ").append(c.canTipHits.sum()).append(", \"tips\": ").append(c.tips.sum()).append(", \"failures\": ")
+          .append(c.failures.sum()).append(", \"rewrites\": ").append(c.rewrites.sum()).append(", \"tipNanos\": ").append(c.nanos.sum())
+          .append(", \"histogram\": [");
+      int last = BUCKETS - 1;
+      while (last >= 0 && c.histogram.get(last) == 0)
+        --last;
+      for (int ¢ = 0; ¢ <= last; ++¢)
+        $.append(¢ == 0 ? "" : ", ").append(c.histogram.get(¢));
+      $.append("]}");
+      separator = ",\n";
+    }
+    return $.append("\n]\n") + "";
+  }
+
+  /** @param ¢ JD
+   * @return the counters of the parameter */
+  static Counters of(final Class<?> ¢) {
+    return counters.get(¢);
+  }
+
+  private static List<Counters> sorted() {
+    final List<Counters> $ = new ArrayList<>(all);
+    $.sort((c1, c2) -> c1.tipper.getName().compareTo(c2.tipper.getName()));
+    return $;
+  }
+
+  /** Counters of a single tipper class
+   * @since 2026-10-17 */
+  static final class Counters {
+    final Class<?> tipper;
+    final LongAdder canTipCalls = new LongAdder();
+    final LongAdder canTipHits = new LongAdder();
+    final LongAdder tips = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder rewrites = new LongAdder();
+    final LongAdder nanos = new LongAdder();
+    final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    Counters(final Class<?> tipper) {
+      this.tipper = tipper;
+    }
+
+    void record(final long duration) {
+      tips.increment();
+      nanos.add(duration);
+      histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, duration))));
+    }
+
+    void reset() {
+      canTipCalls.reset();
+      canTipHits.reset();
+      tips.reset();
+      failures.reset();
+      rewrites.reset();
+      nanos.reset();
+      for (int ¢ = 0; ¢ < BUCKETS; ++¢)
+        histogram.set(¢, 0);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package il.org.spartan.spartanizer.dispatch;
+
+/** Management interface of {@link TipperStatistics}, as seen in JConsole and
+ * the like, under {@value TipperStatistics#NAME}
+ * @since 2026-10-17 */
+public interface TipperStatisticsMBean {
+  boolean isActive();
+
+  void setActive(boolean ¢);
+
+  /** Zeroes all counters */
+  void reset();
+
+  /** @return simple names of the classes of all tippers seen so far */
+  String[] getTippers();
+
+  long getCanTipCalls();
+
+  long getCanTipHits();
+
+  long getTips();
+
+  long getFailures();
+
+  long getRewrites();
+
+  /** @return counters of all tippers, one per line, as comma separated
+   *         values */
+  String getCSV();
+
+  /** @return counters of all tippers, as a JSON array */
+  String getJSON();
+}
@@ -1,7 +1,10 @@
 package il.org.spartan.spartanizer.dispatch;
 
+import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
+import java.util.zip.*;
 
 import org.eclipse.jdt.core.dom.*;
 import org.eclipse.jdt.core.dom.rewrite.*;
@@ -18,6 +21,13 @@ import il.org.spartan.spartanizer.utils.*;
 /** Singleton containing all {@link Tipper}s which are active, allowing
  * selecting and applying the most appropriate such object for a given
  * {@link ASTNode}.
+ * <p>
+ * The {@link #defaultInstance()} is an immutable snapshot, shared by all
+ * threads and files, and numbered by its {@link #version()}; a new snapshot is
+ * made by {@link #refresh()} only when the set of enabled {@link TipperGroup}s
+ * changed since the current one was made. Use
+ * {@link #muttableDefaultInstance()} or {@link #muttableCopy()} for a toolbox
+ * to which tippers are added, or from which they are disabled.
  * @author Yossi Gil
  * @since 2015-08-22 */
 public class Toolbox {
@@ -54,7 +64,13 @@ public class Toolbox {
         }
       };
   /** The default Instance of this class */
-  static Toolbox defaultInstance;
+  static volatile Toolbox defaultInstance;
+  /** Snapshots of each thread, as by {@link #threadInstance()} */
+  private static final ThreadLocal<Toolbox> threadInstances = new ThreadLocal<>();
+  /** Number of snapshots made so far */
+  private static final AtomicLong versions = new AtomicLong();
+  /** Checksums of the bytecode of classes, by class */
+  private static final Map<Class<?>, Long> checksums = new ConcurrentHashMap<>();
 
   /** Generate an {@link ASTRewrite} that contains the changes proposed by the
    * first tipper that applies to a node in the usual scan.
@@ -95,8 +111,27 @@ public class Toolbox {
     }
   }
 
+  /** @return the current snapshot of all enabled tippers, which must not be
+   *         changed */
   public static Toolbox defaultInstance() {
-    return defaultInstance = defaultInstance != null ? defaultInstance : freshCopyOfAllTippers();
+    final Toolbox $ = defaultInstance;
+    if ($ != null)
+      return $;
+    refresh();
+    return defaultInstance;
+  }
+
+  /** @return a snapshot of the same tippers as the {@link #defaultInstance()},
+   *         made for the current thread, whose tipper instances no other
+   *         thread uses */
+  public static Toolbox threadInstance() {
+    final long enabled = defaultInstance().enabled;
+    final Toolbox $ = threadInstances.get();
+    if ($ != null && $.enabled == enabled)
+      return $;
+    final Toolbox made = new Toolbox(freshCopyOfAllTippers(), enabled);
+    threadInstances.set(made);
+    return made;
   }
 
   public static Toolbox muttableDefaultInstance() {
@@ -296,12 +331,26 @@ public class Toolbox {
     return emptyToolboox().add(clazz, ns);
   }
 
-  public static void refresh() {
-    defaultInstance = freshCopyOfAllTippers();
+  /** Makes a new {@link #defaultInstance()}, if the set of enabled
+   * {@link TipperGroup}s changed since the current one was made */
+  public static synchronized void refresh() {
+    final long enabled = enabledGroups();
+    if (defaultInstance == null || defaultInstance.enabled != enabled)
+      defaultInstance = new Toolbox(freshCopyOfAllTippers(), enabled);
   }
 
   public static void refresh(final Trimmer ¢) {
-    ¢.toolbox = freshCopyOfAllTippers();
+    ¢.toolbox = defaultInstance();
+  }
+
+  /** @return the set of enabled {@link TipperGroup}s, as a bit mask of their
+   *         ordinals */
+  static long enabledGroups() {
+    long $ = 0;
+    for (final TipperGroup ¢ : TipperGroup.values())
+      if (¢.isEnabled())
+        $ |= 1L << ¢.ordinal();
+    return $;
   }
 
   private static void disable(final Class<? extends TipperCategory> c, final List<Tipper<? extends ASTNode>> ns) {
@@ -315,19 +364,54 @@ public class Toolbox {
     }
   }
 
-  @SuppressWarnings("unchecked") private static <N extends ASTNode> Tipper<N> firstTipper(final N n, final List<Tipper<?>> ts) {
-    for (final Tipper<?> ¢ : ts)
-      if (((Tipper<N>) ¢).canTip(n))
-        return (Tipper<N>) ¢;
-    return null;
-  }
-
+  private static final Tipper<?>[] noTippers = {};
   /** Implementation */
   @SuppressWarnings("unchecked") private final List<Tipper<? extends ASTNode>>[] implementation = //
       (List<Tipper<? extends ASTNode>>[]) new List<?>[2 * ASTNode.TYPE_METHOD_REFERENCE];
+  /** Dispatch table: {@link #implementation} frozen into an array of tippers
+   * per node type. Made on first use, and dropped whenever tippers are added
+   * or disabled. */
+  private volatile Tipper<?>[][] table;
+  /** Version of this snapshot, or 0 if this instance may be changed */
+  private final long version;
+  /** The enabled {@link TipperGroup}s, as by {@link #enabledGroups()}, when
+   * this snapshot was made */
+  private final long enabled;
 
   public Toolbox() {
-    // Nothing to do
+    version = enabled = 0;
+  }
+
+  /** Makes a snapshot
+   * @param t JD
+   * @param enabled as by {@link #enabledGroups()} */
+  private Toolbox(final Toolbox t, final long enabled) {
+    version = versions.incrementAndGet();
+    this.enabled = enabled;
+    for (int ¢ = 0; ¢ < implementation.length; ++¢)
+      implementation[¢] = Collections.unmodifiableList(t.implementation[¢] == null ? new ArrayList<>() : new ArrayList<>(t.implementation[¢]));
+    table();
+  }
+
+  /** @return version of this snapshot, or 0 if this instance is not a
+   *         snapshot */
+  public long version() {
+    return version;
+  }
+
+  /** @return <code><b>true</b></code> <em>iff</em> this instance is an
+   *         immutable snapshot */
+  public boolean isSnapshot() {
+    return version != 0;
+  }
+
+  /** @return a new instance, which may be changed, with the same tippers */
+  public Toolbox muttableCopy() {
+    final Toolbox $ = new Toolbox();
+    for (int ¢ = 0; ¢ < implementation.length; ++¢)
+      if (implementation[¢] != null)
+        $.implementation[¢] = new ArrayList<>(implementation[¢]);
+    return $;
   }
 
   /** Associate a bunch of{@link Tipper} with a given sub-class of
@@ -336,6 +420,8 @@ public class Toolbox {
    * @param ns JD
    * @return <code><b>this</b></code>, for easy chaining. */
   @SafeVarargs public final <N extends ASTNode> Toolbox add(final Class<N> n, final Tipper<N>... ns) {
+    if (isSnapshot())
+      throw new UnsupportedOperationException("snapshot " + version + " cannot be changed; use muttableCopy()");
     final Integer nodeType = classToNodeType.get(n);
     assert nodeType != null : fault.dump() + //
         "\n c = " + n + //
@@ -351,27 +437,94 @@ public class Toolbox {
       if (¢.tipperGroup().isEnabled())
         ts.add(¢);
     }
+    table = null;
     return this;
   }
 
   public void disable(final Class<? extends TipperCategory> c) {
+    if (isSnapshot())
+      throw new UnsupportedOperationException("snapshot " + version + " cannot be changed; use muttableCopy()");
     for (final List<Tipper<? extends ASTNode>> ¢ : implementation)
       if (¢ != null)
         disable(c, ¢);
+    table = null;
   }
 
   /** Find the first {@link Tipper} appropriate for an {@link ASTNode}
    * @param pattern JD
    * @return first {@link Tipper} for which the parameter is within scope, or
    *         <code><b>null</b></code> if no such {@link Tipper} is found. @ */
-  public <N extends ASTNode> Tipper<N> firstTipper(final N ¢) {
-    return firstTipper(¢, get(¢));
+  @SuppressWarnings("unchecked") public <N extends ASTNode> Tipper<N> firstTipper(final N n) {
+    for (final Tipper<?> $ : table()[n.getNodeType()])
+      if (TipperStatistics.canTip((Tipper<N>) $, n))
+        return (Tipper<N>) $;
+    return null;
+  }
+
+  /** @param ¢ JD
+   * @return the {@link Tipper}s for the type of the parameter, in the order
+   *         {@link #firstTipper(ASTNode)} tries them; none of them was asked
+   *         whether it can tip the node */
+  @SuppressWarnings("unchecked") public <N extends ASTNode> List<Tipper<N>> tippers(final N ¢) {
+    return Collections.unmodifiableList(Arrays.asList((Tipper<N>[]) table()[¢.getNodeType()]));
+  }
+
+  /** @return the dispatch table of this instance, making it if necessary */
+  private Tipper<?>[][] table() {
+    if (table != null)
+      return table;
+    final Tipper<?>[][] $ = new Tipper<?>[implementation.length][];
+    for (int ¢ = 0; ¢ < $.length; ++¢)
+      $[¢] = implementation[¢] == null || implementation[¢].isEmpty() ? noTippers : implementation[¢].toArray(noTippers);
+    return table = $;
   }
 
+  /** @param ¢ a node type
+   * @return the list of tippers of this node type; changes made directly to
+   *         this list are not seen by {@link #firstTipper(ASTNode)}, use
+   *         {@link #add(Class, Tipper...)} instead. The list of a snapshot is
+   *         unmodifiable. */
   public List<Tipper<? extends ASTNode>> get(final int ¢) {
     return implementation[¢] = implementation[¢] == null ? new ArrayList<>() : implementation[¢];
   }
 
+  /** @return a string identifying the tippers of this instance, by node type
+   *         and in order of application, and the bytecode of their classes;
+   *         two instances with the same fingerprint offer the same tips,
+   *         unless code the tippers call, but do not define, changed */
+  public String fingerprint() {
+    final StringBuilder $ = new StringBuilder();
+    final Tipper<?>[][] t = table();
+    for (int ¢ = 0; ¢ < t.length; ++¢)
+      if (t[¢].length > 0) {
+        $.append(¢).append(':');
+        for (final Tipper<?> w : t[¢])
+          $.append(w.getClass().getName()).append('@').append(Long.toHexString(checksum(w.getClass()))).append(',');
+        $.append(';');
+      }
+    return $ + "";
+  }
+
+  /** @param ¢ JD
+   * @return a checksum of the bytecode of the parameter, or 0 if it cannot be
+   *         read */
+  static long checksum(final Class<?> ¢) {
+    return checksums.computeIfAbsent(¢, c -> {
+      final CRC32 $ = new CRC32();
+      try (InputStream s = c.getResourceAsStream("/" + c.getName().replace('.', '/') + ".class")) {
+        if (s == null)
+          return Long.valueOf(0);
+        final byte[] buffer = new byte[1 << 12];
+        for (int n = s.read(buffer); n >= 0; n = s.read(buffer))
+          $.update(buffer, 0, n);
+      } catch (final IOException x) {
+        monitor.infoIOException(x, c.getName());
+        return Long.valueOf(0);
+      }
+      return Long.valueOf($.getValue());
+    }).longValue();
+  }
+
   public int hooksCount() {
     int $ = 0;
     for (final List<Tipper<? extends ASTNode>> ¢ : implementation)
@@ -387,10 +540,6 @@ public class Toolbox {
     return $;
   }
 
-  <N extends ASTNode> List<Tipper<? extends ASTNode>> get(final N ¢) {
-    return get(¢.getNodeType());
-  }
-
   /** [[SuppressWarningsSpartan]] TODO: Apparently there is no check that ¢ is
    * not occupied already... */
   public static List<String> get(final TipperGroup ¢) {
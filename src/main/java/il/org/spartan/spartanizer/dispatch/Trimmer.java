@@ -14,6 +14,7 @@ import il.org.spartan.spartanizer.cmdline.*;
 import il.org.spartan.spartanizer.engine.*;
 import il.org.spartan.spartanizer.tipping.*;
 import il.org.spartan.spartanizer.utils.*;
+import il.org.spartan.utils.*;
 
 /** @author Yossi Gil
  * @since 2015/07/10 */
@@ -55,7 +56,7 @@ public class Trimmer extends AbstractGUIApplicator {
           return true;
         Tip s = null;
         try {
-          s = w.tip(n, exclude);
+          s = TipperStatistics.tip(w, n, exclude);
           TrimmerLog.tip(w, n);
         } catch (final TipperFailure f) {
           monitor.debug(this, f);
@@ -64,6 +65,7 @@ public class Trimmer extends AbstractGUIApplicator {
         }
         if (s != null) {
           i.incrementAndGet();
+          TipperStatistics.rewrite(w);
           if (LogManager.isActive())
             LogManager.getLogWriter().printRow(u.getJavaElement().getElementName(), s.description, s.lineNumber + "");
           TrimmerLog.application(r, s);
@@ -94,6 +96,231 @@ public class Trimmer extends AbstractGUIApplicator {
     }
   }
 
+  /** Same as {@link #fixed(String)}, except that a {@link BodyDeclaration} in
+   * which a pass found nothing to do is not visited again, for as long as
+   * neither its text nor its {@link #context(ASTNode, String, Map) context}
+   * changes. Each pass still parses the whole text, but tips are collected only
+   * in the declarations touched by the previous pass.
+   * <p>
+   * The context of a declaration is the text of the types enclosing it, less
+   * the bodies of their methods, so a tip which depends on the body of a
+   * sibling method, or on another type, is not made by these passes. When
+   * they stop, the passes of {@link #fixed(String)} run on their result, and
+   * make any such tip.
+   * @param from what to process
+   * @return trimmed text, which is the same as that of {@link #fixed(String)} */
+  public String fixedIncrementally(final String from) {
+    final Set<List<String>> clean = new HashSet<>();
+    for (final Document $ = new Document(from);;) {
+      final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from($.get());
+      final ASTRewrite r = ASTRewrite.create(u.getAST());
+      final String text = $.get();
+      final Map<ASTNode, String> outlines = new HashMap<>();
+      final List<BodyDeclaration> visited = new ArrayList<>();
+      final List<Tip> tips = new ArrayList<>();
+      final DispatchingVisitor v = new DispatchingVisitor() {
+        @Override public boolean preVisit2(final ASTNode ¢) {
+          super.preVisit2(¢);
+          if (!(¢ instanceof BodyDeclaration))
+            return true;
+          if (clean.contains(context(¢, text, outlines)))
+            return false;
+          visited.add((BodyDeclaration) ¢);
+          return true;
+        }
+
+        @Override protected <N extends ASTNode> boolean go(final N n) {
+          if (!check(n) || disabling.on(n))
+            return true;
+          final Tip t = tip(n, exclude);
+          if (t != null) {
+            tips.add(t);
+            t.go(r, null);
+          }
+          return true;
+        }
+
+        @Override protected void initialization(final ASTNode ¢) {
+          disabling.scan(¢);
+        }
+      };
+      u.accept(v);
+      for (final BodyDeclaration ¢ : visited)
+        if (untouched(¢, tips, v.exclude))
+          clean.add(context(¢, text, outlines));
+      final TextEdit e = r.rewriteAST($, null);
+      try {
+        e.apply($);
+      } catch (final MalformedTreeException | IllegalArgumentException | BadLocationException x) {
+        monitor.logEvaluationError(this, x);
+        throw new AssertionError(x);
+      }
+      if (!e.hasChildren())
+        return fixed($.get());
+    }
+  }
+
+  /** Same as {@link #fixed(String)}, except that each pass applies the tips of
+   * {@link #collectAllTips(CompilationUnit)}, rather than those of the first
+   * tipper of each node
+   * @param from what to process
+   * @return trimmed text */
+  public String fixedWithAllTippers(final String from) {
+    for (final Document $ = new Document(from);;)
+      if (!passWithAllTippers($))
+        return $.get();
+  }
+
+  /** @param d JD
+   * @return <code><b>true</b></code> <em>iff</em> the pass changed the
+   *         document */
+  boolean passWithAllTippers(final Document d) {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(d.get());
+    final ASTRewrite r = ASTRewrite.create(u.getAST());
+    for (final Tip ¢ : nonOverlapping(collectAllTips(u)))
+      ¢.go(r, null);
+    final TextEdit e = r.rewriteAST(d, null);
+    try {
+      e.apply(d);
+    } catch (final MalformedTreeException | IllegalArgumentException | BadLocationException x) {
+      monitor.logEvaluationError(this, x);
+      throw new AssertionError(x);
+    }
+    return e.hasChildren();
+  }
+
+  /** Collects tips in a single traversal. The tippers of a node are tried in
+   * dispatch order: a tipper which cannot tip the node, returns
+   * <code><b>null</b></code>, or fails, falls through to the next one, rather
+   * than leaving the node without a tip in this pass and in every other. As in
+   * {@link #collectSuggesions(CompilationUnit)}, a tip prunes the tips which
+   * include it.
+   * @param u JD
+   * @return the tips collected, some of which may overlap */
+  public List<Tip> collectAllTips(final CompilationUnit u) {
+    final List<Tip> $ = new ArrayList<>();
+    u.accept(new DispatchingVisitor() {
+      @Override protected <N extends ASTNode> boolean go(final N n) {
+        if (!check(n) || disabling.on(n))
+          return true;
+        for (final Tipper<N> w : toolbox.tippers(n))
+          try {
+            if (!TipperStatistics.canTip(w, n))
+              continue;
+            final Tip t = TipperStatistics.tip(w, n, exclude);
+            if (t == null)
+              continue;
+            TipperStatistics.rewrite(w);
+            return prune(t, $);
+          } catch (final TipperFailure f) {
+            monitor.debug(this, f);
+          } catch (final Exception x) {
+            monitor.debug(this, x);
+          }
+        return true;
+      }
+
+      @Override protected void initialization(final ASTNode ¢) {
+        disabling.scan(¢);
+      }
+    });
+    return $;
+  }
+
+  /** @param ts JD
+   * @return the tips of the parameter, in order, skipping those which overlap
+   *         an earlier tip */
+  static List<Tip> nonOverlapping(final List<Tip> ts) {
+    final List<Tip> $ = new ArrayList<>();
+    outer: for (final Tip t : ts) {
+      for (final Tip ¢ : $)
+        if (overlapping(t, ¢))
+          continue outer;
+      $.add(t);
+    }
+    return $;
+  }
+
+  static String text(final ASTNode n, final String text) {
+    return text.substring(n.getStartPosition(), n.getStartPosition() + n.getLength());
+  }
+
+  /** @param n a {@link BodyDeclaration}
+   * @param text the text the tree of the declaration was parsed from
+   * @param outlines outlines of types already computed in this tree
+   * @return the text of the declaration, followed by the outlines of the types
+   *         enclosing it, and the texts of the other declarations enclosing
+   *         it, innermost first */
+  static List<String> context(final ASTNode n, final String text, final Map<ASTNode, String> outlines) {
+    final List<String> $ = new ArrayList<>();
+    $.add(text(n, text));
+    for (ASTNode ¢ = n.getParent(); ¢ != null; ¢ = ¢.getParent())
+      if (¢ instanceof AbstractTypeDeclaration || ¢ instanceof AnonymousClassDeclaration)
+        $.add(outlines.computeIfAbsent(¢, x -> outline(x, text)));
+      else if (¢ instanceof BodyDeclaration)
+        $.add(text(¢, text));
+    return $;
+  }
+
+  /** @param n a type, or an anonymous class
+   * @param text the text its tree was parsed from
+   * @return the text of the type, without the bodies of its methods */
+  static String outline(final ASTNode n, final String text) {
+    final StringBuilder $ = new StringBuilder();
+    int from = n.getStartPosition();
+    for (final Object o : n instanceof AbstractTypeDeclaration ? ((AbstractTypeDeclaration) n).bodyDeclarations()
+        : ((AnonymousClassDeclaration) n).bodyDeclarations()) {
+      final Block b = o instanceof MethodDeclaration ? ((MethodDeclaration) o).getBody() : null;
+      if (b == null)
+        continue;
+      $.append(text, from, b.getStartPosition()).append(';');
+      from = b.getStartPosition() + b.getLength();
+    }
+    return $.append(text, from, n.getStartPosition() + n.getLength()) + "";
+  }
+
+  static boolean untouched(final ASTNode n, final List<Tip> ts, final ExclusionManager m) {
+    final Range $ = new Range(n.getStartPosition(), n.getStartPosition() + n.getLength());
+    for (final Tip ¢ : ts)
+      if (overlapping($, ¢))
+        return false;
+    return !m.overlapping($);
+  }
+
+  /** Unlike {@link Range#overlapping(Range)}, which is true unless the first
+   * range strictly includes the second, this is true <i>iff</i> the ranges
+   * share a position.
+   * @param r1 JD
+   * @param r2 JD
+   * @return <code><b>true</b></code> <em>iff</em> the parameters overlap */
+  static boolean overlapping(final Range r1, final Range r2) {
+    return r1.from < r2.to && r2.from < r1.to;
+  }
+
+  /** @return the tip of the first tipper which can tip the node, recorded as
+   *         applied to a rewrite, or <code><b>null</b></code> if there is none */
+  <N extends ASTNode> Tip tip(final N n, final ExclusionManager m) {
+    Tipper<N> w = null;
+    try {
+      w = getTipper(n);
+    } catch (final Exception x) {
+      monitor.debug(this, x);
+    }
+    if (w == null)
+      return null;
+    try {
+      final Tip $ = TipperStatistics.tip(w, n, m);
+      if ($ != null)
+        TipperStatistics.rewrite(w);
+      return $;
+    } catch (final TipperFailure f) {
+      monitor.debug(this, f);
+    } catch (final Exception x) {
+      monitor.debug(this, x);
+    }
+    return null;
+  }
+
   @Override protected ASTVisitor makeTipsCollector(final List<Tip> $) {
     Toolbox.refresh(this);
     return new DispatchingVisitor() {
@@ -110,7 +337,7 @@ public class Trimmer extends AbstractGUIApplicator {
         if (w != null)
           progressMonitor.worked(5);
         try {
-          return w == null || w.cantTip(n) || prune(w.tip(n, exclude), $);
+          return w == null || w.cantTip(n) || prune(TipperStatistics.tip(w, n, exclude), $);
         } catch (final TipperFailure f) {
           monitor.debug(this, f);
         } catch (final Exception x) {
@@ -142,7 +369,7 @@ public class Trimmer extends AbstractGUIApplicator {
   boolean changed;
 
   @SafeVarargs public final <N extends ASTNode> Trimmer add(final Class<N> n, final Tipper<N>... ns) {
-    if (!changed)
+    if (!changed || toolbox.isSnapshot())
       toolbox = Toolbox.muttableDefaultInstance();
     changed = true;
     toolbox.add(n, ns);
@@ -69,7 +69,7 @@ public enum Collect {
       @Override public List<SimpleName> in(final ASTNode... ns) {
         final List<SimpleName> $ = new ArrayList<>();
         for (final ASTNode ¢ : ns)
-          ¢.accept(definitionsCollector($, name));
+          $.addAll(DEFINITIONS.occurrences(name, ¢));
         return $;
       }
     };
@@ -117,7 +117,7 @@ public enum Collect {
         final List<SimpleName> $ = new ArrayList<>();
         for (final ASTNode ¢ : ns)
           if (¢ != null)
-            ¢.accept(new UsesCollector($, name));
+            $.addAll(USES_SEMANTIC.occurrences(name, ¢));
         return $;
       }
     };
@@ -453,14 +453,22 @@ public enum Collect {
    * @return list of uses */
   final List<SimpleName> collect(final SimpleName what, final ASTNode... ns) {
     final List<SimpleName> $ = new ArrayList<>();
-    for (final ASTNode n : ns)
-      for (final ASTVisitor ¢ : collectors(what, $))
-        n.accept(¢);
+    for (final ASTNode ¢ : ns)
+      $.addAll(occurrences(what, ¢));
     removeDuplicates($);
     Collections.sort($, (e1, e2) -> e1.getStartPosition() - e2.getStartPosition());
     return $;
   }
 
+  /** @param what the name to search for
+   * @param n where to search
+   * @return occurrences of the name in the node, as found by the collectors of
+   *         this instance, in their order, looked up in the
+   *         {@link DefUseIndex} of the node */
+  final List<SimpleName> occurrences(final SimpleName what, final ASTNode n) {
+    return DefUseIndex.of(n).get(this, what, n);
+  }
+
   abstract ASTVisitor[] collectors(final SimpleName n, final List<SimpleName> into);
 
   /** An abstract class to carry out the collection process. Should not be
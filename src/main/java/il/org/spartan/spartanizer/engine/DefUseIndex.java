@@ -0,0 +1,86 @@
+package il.org.spartan.spartanizer.engine;
+
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
+
+import il.org.spartan.spartanizer.dispatch.*;
+
+/** Def-use index of a method: the occurrences of each identifier in it, found
+ * in a single traversal, and the answers to the {@link Collect} queries made
+ * on its subtrees. A query for a name in a subtree which does not mention the
+ * name is answered without visiting the subtree; any other query visits it
+ * once, and is then answered from memory.
+ * <p>
+ * An index is kept in the {@link NodeData} of the innermost
+ * {@link MethodDeclaration} enclosing the subtrees it serves, or of their root
+ * if there is none, stamped with the modification count of its {@link AST},
+ * so it is rebuilt once the tree is rewritten.
+ * @since 2026-10-17 */
+final class DefUseIndex {
+  /** @param ¢ JD
+   * @return the index of the method enclosing the parameter */
+  static DefUseIndex of(final ASTNode ¢) {
+    final ASTNode root = root(¢);
+    final long stamp = root.getAST().modificationCount();
+    final DefUseIndex $ = NodeData.get(root, NodeData.Key.DEF_USE);
+    return $ != null && $.stamp == stamp ? $ : NodeData.set(root, NodeData.Key.DEF_USE, new DefUseIndex(root, stamp));
+  }
+
+  private static ASTNode root(final ASTNode n) {
+    for (ASTNode $ = n;; $ = $.getParent())
+      if ($ instanceof MethodDeclaration || $.getParent() == null)
+        return $;
+  }
+
+  private final ASTNode root;
+  private final long stamp;
+  /** Occurrences of each identifier in the tree */
+  private final Map<String, List<SimpleName>> names = new HashMap<>();
+  /** Answers to queries, by kind, focus, its identifier, and subtree */
+  private final Map<List<Object>, List<SimpleName>> answers = new HashMap<>();
+
+  private DefUseIndex(final ASTNode root, final long stamp) {
+    this.root = root;
+    this.stamp = stamp;
+    root.accept(new ASTVisitor() {
+      @Override public boolean visit(final SimpleName ¢) {
+        names.computeIfAbsent(¢.getIdentifier(), __ -> new ArrayList<>()).add(¢);
+        return false;
+      }
+    });
+  }
+
+  /** @param c kind of query
+   * @param focus name to search for
+   * @param n a subtree of the tree of this index
+   * @return occurrences of the name in the subtree, as found by the collectors
+   *         of the kind, in their order; must not be changed */
+  synchronized List<SimpleName> get(final Collect c, final SimpleName focus, final ASTNode n) {
+    if (!mentions(n, focus.getIdentifier()))
+      return Collections.emptyList();
+    final List<Object> key = Arrays.asList(c, focus, focus.getIdentifier(), n);
+    final List<SimpleName> $ = answers.get(key);
+    if ($ != null)
+      return $;
+    final List<SimpleName> answer = new ArrayList<>();
+    for (final ASTVisitor ¢ : c.collectors(focus, answer))
+      n.accept(¢);
+    answers.put(key, answer);
+    return answer;
+  }
+
+  /** @param n a subtree of the tree of this index
+   * @param identifier JD
+   * @return <code><b>true</b></code> <em>iff</em> the identifier occurs in
+   *         the subtree */
+  boolean mentions(final ASTNode n, final String identifier) {
+    final List<SimpleName> ns = names.get(identifier);
+    if (ns != null)
+      for (final SimpleName ¢ : ns)
+        for (ASTNode p = ¢; p != null; p = p == root ? null : p.getParent())
+          if (p == n)
+            return true;
+    return false;
+  }
+}
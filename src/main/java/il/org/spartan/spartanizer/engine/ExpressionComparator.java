@@ -8,7 +8,6 @@ import org.eclipse.jdt.core.dom.*;
 
 import static il.org.spartan.spartanizer.ast.navigate.step.*;
 
-import il.org.spartan.spartanizer.ast.navigate.*;
 import il.org.spartan.spartanizer.ast.safety.*;
 
 /** Various methods for comparing
@@ -76,7 +75,7 @@ public enum ExpressionComparator implements Comparator<Expression> {
    *         same place, or after then the second argument in lexicographical
    *         order. */
   static int alphabeticalCompare(final Expression e1, final Expression e2) {
-    return removeWhites(wizard.body(e1)).compareTo(removeWhites(wizard.body(e2)));
+    return SubtreeMetrics.flattened(e1).compareTo(SubtreeMetrics.flattened(e2));
   }
 
   static int argumentsCompare(final Expression e1, final Expression e2) {
@@ -94,7 +93,7 @@ public enum ExpressionComparator implements Comparator<Expression> {
    *         number of characters in the first argument is less than, equal to,
    *         or greater than the number of characters in the second argument. */
   static int characterCompare(final Expression e1, final Expression e2) {
-    return count.nonWhiteCharacters(e1) - count.nonWhiteCharacters(e2);
+    return SubtreeMetrics.nonWhiteCharacters(e1) - SubtreeMetrics.nonWhiteCharacters(e2);
   }
 
   static int literalCompare(final Expression e1, final Expression e2) {
@@ -102,7 +101,7 @@ public enum ExpressionComparator implements Comparator<Expression> {
   }
 
   static int nodesCompare(final Expression e1, final Expression e2) {
-    return round(count.nodes(e1) - count.nodes(e2), NODES_THRESHOLD);
+    return round(SubtreeMetrics.nodes(e1) - SubtreeMetrics.nodes(e2), NODES_THRESHOLD);
   }
 
   static int round(final int $, final int threshold) {
@@ -111,8 +110,8 @@ public enum ExpressionComparator implements Comparator<Expression> {
 
   private static boolean isLonger(final Expression e1, final Expression e2) {
     return !hasNull(e1, e2) && (//
-    count.nodes(e1) > count.nodes(e2) + NODES_THRESHOLD || //
-        count.nodes(e1) >= count.nodes(e2) && moreArguments(e1, e2)//
+    SubtreeMetrics.nodes(e1) > SubtreeMetrics.nodes(e2) + NODES_THRESHOLD || //
+        SubtreeMetrics.nodes(e1) >= SubtreeMetrics.nodes(e2) && moreArguments(e1, e2)//
     );
   }
 
@@ -0,0 +1,77 @@
+package il.org.spartan.spartanizer.engine;
+
+import static il.org.spartan.Utils.*;
+
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
+
+import il.org.spartan.spartanizer.ast.navigate.*;
+import il.org.spartan.spartanizer.dispatch.*;
+
+/** Memoized metrics of a subtree: its number of nodes, and its flattened body,
+ * i.e., its text without white space. Metrics are kept in the {@link NodeData}
+ * of the node, stamped with the modification count of the node's {@link AST},
+ * so that any change to the tree, e.g., by a tipper, makes them stale, and they
+ * are recomputed on next use. Comparing the operands of an expression in a sort
+ * thus computes the metrics of each operand once, rather than once per
+ * comparison.
+ * @since 2026-10-17 */
+public final class SubtreeMetrics {
+  /** @param ¢ JD
+   * @return number of nodes in the tree rooted at the parameter, as in
+   *         {@link count#nodes(ASTNode)} */
+  public static int nodes(final ASTNode ¢) {
+    final SubtreeMetrics $ = of(¢);
+    if ($.nodes == 0)
+      countNodes(¢);
+    return $.nodes;
+  }
+
+  /** @param ¢ JD
+   * @return the text of the parameter, with no white space */
+  public static String flattened(final ASTNode ¢) {
+    final SubtreeMetrics $ = of(¢);
+    if ($.flattened == null)
+      $.flattened = removeWhites(wizard.body(¢));
+    return $.flattened;
+  }
+
+  /** @param ¢ JD
+   * @return number of non white characters in the parameter, as in
+   *         {@link count#nonWhiteCharacters(ASTNode)} */
+  public static int nonWhiteCharacters(final ASTNode ¢) {
+    return flattened(¢).length();
+  }
+
+  /** Counts the nodes of all subtrees of a given node in a single traversal, so
+   * that later queries on its descendants are free. */
+  private static void countNodes(final ASTNode root) {
+    final Deque<Integer> starts = new ArrayDeque<>();
+    root.accept(new ASTVisitor() {
+      int visited;
+
+      @Override public void preVisit(final ASTNode ¢) {
+        starts.push(Integer.valueOf(visited++));
+      }
+
+      @Override public void postVisit(final ASTNode ¢) {
+        of(¢).nodes = visited - starts.pop().intValue();
+      }
+    });
+  }
+
+  private static SubtreeMetrics of(final ASTNode n) {
+    final long stamp = n.getAST().modificationCount();
+    final SubtreeMetrics $ = NodeData.get(n, NodeData.Key.METRICS);
+    return $ != null && $.stamp == stamp ? $ : NodeData.set(n, NodeData.Key.METRICS, new SubtreeMetrics(stamp));
+  }
+
+  private final long stamp;
+  private int nodes;
+  private String flattened;
+
+  private SubtreeMetrics(final long stamp) {
+    this.stamp = stamp;
+  }
+}
@@ -1,6 +1,11 @@
 package il.org.spartan.spartanizer.engine;
 
 import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.channels.FileChannel.*;
+import java.nio.charset.*;
+import java.nio.file.*;
 import java.util.*;
 
 import org.eclipse.core.resources.*;
@@ -79,9 +84,27 @@ public enum makeAST {
    * @return entire contents of this file, as one string */
   public static String string(final File f) {
     try (final BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(f)))) {
-      for (String $ = "", ¢ = r.readLine();; ¢ = r.readLine(), $ += ¢ + System.lineSeparator())
-        if (¢ == null)
-          return $;
+      final StringBuilder $ = new StringBuilder((int) f.length());
+      for (String ¢ = r.readLine(); ¢ != null; ¢ = r.readLine())
+        $.append(¢).append(System.lineSeparator());
+      return $ + "";
+    } catch (final IOException ¢) {
+      monitor.infoIOException(¢, f + "");
+      return null;
+    }
+  }
+
+  /** Convert file contents into a character array, decoded directly from a
+   * memory mapped buffer; unlike {@link #string(File)}, line separators are
+   * left as they are.
+   * @param f JD
+   * @return entire contents of this file, as a character array */
+  public static char[] chars(final File f) {
+    try (FileChannel c = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+      final CharBuffer b = Charset.defaultCharset().decode(c.map(MapMode.READ_ONLY, 0, c.size()));
+      final char[] $ = new char[b.remaining()];
+      b.get($);
+      return $;
     } catch (final IOException ¢) {
       monitor.infoIOException(¢, f + "");
       return null;
@@ -142,6 +165,13 @@ public enum makeAST {
     return makeParser(¢).createAST(null);
   }
 
+  /** char[] -> ASTNode converter
+   * @param ¢ JD
+   * @return ASTNode */
+  public ASTNode from(final char[] ¢) {
+    return makeParser(¢).createAST(null);
+  }
+
   /** Creates a no-binding parser for a given text
    * @param text what to parse
    * @return a newly created parser for the parameter */
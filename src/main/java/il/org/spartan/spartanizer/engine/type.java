@@ -11,6 +11,7 @@ import static org.eclipse.jdt.core.dom.InfixExpression.Operator.*;
 import static org.eclipse.jdt.core.dom.PrefixExpression.Operator.*;
 
 import java.util.*;
+import java.util.concurrent.atomic.*;
 
 import org.eclipse.jdt.core.dom.*;
 
@@ -35,24 +36,30 @@ public interface type {
     return baptize(name, "anonymously born");
   }
 
-  static inner.implementation baptize(final String name, final String description) {
-    return have(name) ? bring(name) : new inner.implementation() {
-      @Override public String description() {
-        return description;
-      }
-
-      @Override public String key() {
-        return name;
-      }
-    }.join();
+  @SuppressWarnings("synthetic-access") static inner.implementation baptize(final String name, final String description) {
+    synchronized (inner.types) {
+      return have(name) ? bring(name) : new inner.Baptized(name, description).join();
+    }
   }
 
   @SuppressWarnings("synthetic-access") static inner.implementation bring(final String name) {
-    return inner.types.get(name);
+    final inner.implementation $ = inner.primitives.get(name);
+    return $ != null ? $ : inner.types.get(name);
   }
 
   @SuppressWarnings("synthetic-access") static boolean have(final String name) {
-    return inner.types.containsKey(name);
+    return inner.primitives.containsKey(name) || inner.types.containsKey(name);
+  }
+
+  /** @return number of type queries answered from the memoized type of an
+   *         expression */
+  @SuppressWarnings("synthetic-access") static long hits() {
+    return inner.hits.sum();
+  }
+
+  /** @return number of type queries which had to be inferred */
+  @SuppressWarnings("synthetic-access") static long misses() {
+    return inner.misses.sum();
   }
 
   static boolean isDouble(final Expression ¢) {
@@ -85,6 +92,20 @@ public interface type {
     return inner.get(¢);
   }
 
+  /** Infers the types of all expressions of a tree, bottom up, so that
+   * subsequent {@link #of(Expression)} queries on it are answered from memory.
+   * Memoized types are dropped once the tree is modified.
+   * @param ¢ JD */
+  @SuppressWarnings("synthetic-access") static void precompute(final ASTNode ¢) {
+    if (¢ != null)
+      ¢.accept(new ASTVisitor(true) {
+        @Override public void postVisit(final ASTNode n) {
+          if (n instanceof Expression)
+            inner.get((Expression) n);
+        }
+      });
+  }
+
   default Certain asPrimitiveCertain() {
     return null;
   }
@@ -186,12 +207,39 @@ public interface type {
   }
 
   static class inner {
-    private static String propertyName = "spartan type";
-    /** All type that were ever born , as well as all primitive types */
-    private static Map<String, implementation> types = new LinkedHashMap<>();
+    /** Most types which were born, least recently used first */
+    private static final int CAPACITY = 1 << 12;
+    /** All primitive types, by their names */
+    private static final Map<String, implementation> primitives = new HashMap<>();
+    static {
+      for (final Certain ¢ : Certain.values()) {
+        primitives.put(¢.key, ¢);
+        if (¢.boxed != null)
+          primitives.put(¢.boxed, ¢);
+      }
+    }
+    /** Types which were born, the least recently used of which are forgotten
+     * once there are more than {@link #CAPACITY} of these; being equal by
+     * name, a forgotten type is equal to the one born again in its stead */
+    private static final Map<String, implementation> types = Collections.synchronizedMap(new LinkedHashMap<String, implementation>(16, 0.75f, true) {
+      static final long serialVersionUID = 1L;
+
+      @Override protected boolean removeEldestEntry(final Map.Entry<String, implementation> __) {
+        return size() > CAPACITY;
+      }
+    });
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
 
     private static implementation get(final Expression ¢) {
-      return (implementation) (NodeData.has(¢, propertyName) ? NodeData.get(¢, propertyName) : NodeData.set(¢, propertyName, lookUp(¢, lookDown(¢))));
+      final long stamp = ¢.getAST().modificationCount();
+      final Memo $ = NodeData.get(¢, NodeData.Key.TYPE);
+      if ($ != null && $.stamp == stamp) {
+        hits.increment();
+        return $.type;
+      }
+      misses.increment();
+      return NodeData.set(¢, NodeData.Key.TYPE, new Memo(lookUp(¢, lookDown(¢)), stamp)).type;
     }
 
     private static boolean isCastedToShort(final implementation i1, final implementation i2, final Expression x) {
@@ -218,7 +266,7 @@ public interface type {
     private static implementation lookDown(final ConditionalExpression x) {
       final implementation $ = get(step.then(x));
       final implementation ¢ = get(step.elze(x));
-      return $ == ¢ ? $
+      return $.equals(¢) ? $
           : isCastedToShort($, ¢, elze(x)) || isCastedToShort(¢, $, then(x)) ? SHORT
               : !$.isNumeric() || !¢.isNumeric() ? NOTHING : $.underNumericOnlyOperator(¢);
     }
@@ -330,6 +378,49 @@ public interface type {
       return i;
     }
 
+    /** Type of an expression, inferred when its tree was last modified at
+     * {@link #stamp} */
+    private static final class Memo {
+      final implementation type;
+      final long stamp;
+
+      Memo(final implementation type, final long stamp) {
+        this.type = type;
+        this.stamp = stamp;
+      }
+    }
+
+    /** A type born by its name, e.g., of a class instance creation */
+    private static final class Baptized implements implementation {
+      private final String name;
+      private final String description;
+
+      Baptized(final String name, final String description) {
+        this.name = name;
+        this.description = description;
+      }
+
+      @Override public String description() {
+        return description;
+      }
+
+      @Override public boolean equals(final Object ¢) {
+        return ¢ == this || ¢ instanceof Baptized && name.equals(((Baptized) ¢).name);
+      }
+
+      @Override public int hashCode() {
+        return name.hashCode();
+      }
+
+      @Override public boolean isCertain() {
+        return true;
+      }
+
+      @Override public String key() {
+        return name;
+      }
+    }
+
     // an interface for inner methods that shouldn'tipper be public
     private interface implementation extends type {
       /** To be used to determine the type of something that o was used on
@@ -545,13 +636,13 @@ public interface type {
       ;
       final String description;
       final String key;
+      /** Name of the class which boxes this type, if any */
+      final String boxed;
 
-      @SuppressWarnings("synthetic-access") Certain(final String key, final String description, final String s) {
+      Certain(final String key, final String description, final String boxed) {
         this.key = key;
         this.description = description;
-        inner.types.put(key, this);
-        if (s != null)
-          inner.types.put(s, this);
+        this.boxed = boxed;
       }
 
       @Override public Certain asPrimitiveCertain() {
@@ -2,6 +2,7 @@ package il.org.spartan.spartanizer.research;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.eclipse.jdt.core.dom.*;
 
@@ -15,6 +16,10 @@ import il.org.spartan.spartanizer.research.patterns.*;
 public class Analyzer {
   static String outputDir = "/tmp";
   static String inputDir;
+  /** Number of files analyzed at once */
+  static int threads = Runtime.getRuntime().availableProcessors();
+  /** Whether the spartanized code is compressed */
+  static boolean gzip;
 
   public static void main(final String args[]) {
     parseArguments(args);
@@ -23,28 +28,22 @@ public class Analyzer {
 
   private static void parseArguments(final String[] args) {
     if (args.length < 2)
-      System.out.println("Usage: Analyzer <inputDir> [-dir] <outputDir>");
+      System.out.println("Usage: Analyzer <inputDir> [-dir] <outputDir> [-threads <n>] [-gzip]");
     inputDir = args[0];
     if ("-dir".equals(args[1]))
       outputDir = args[2];
     else
       outputDir += args[1];
+    for (int ¢ = 1; ¢ < args.length; ++¢)
+      if ("-threads".equals(args[¢]) && ¢ + 1 < args.length)
+        threads = Math.max(1, Integer.parseInt(args[¢ + 1]));
+      else if ("-gzip".equals(args[¢]))
+        gzip = true;
     final File dir = new File(outputDir);
     if (!dir.exists())
       dir.mkdir();
   }
 
-  /** Append String to file.
-   * @param f file
-   * @param s string */
-  private static void appendFile(final File f, final String s) {
-    try (FileWriter w = new FileWriter(f, true)) {
-      w.write(s);
-    } catch (final IOException x) {
-      monitor.infoIOException(x, "append");
-    }
-  }
-
   /** Clean {@link cu} from any comments, javadoc, importDeclarations,
    * packageDeclarations and FieldDeclarations.
    * @param cu
@@ -90,21 +89,77 @@ public class Analyzer {
     return $;
   }
 
-  /** @param outputDir to which the spartanized code file and CSV files will be
-   *        placed in */
+  /** Analyzes files in parallel, each with a spartanizer of its thread, and
+   * into a shard of {@link Logger} statistics of its own. Results are
+   * consumed in the order of the files, a bounded number of files ahead, so
+   * that the spartanized code and the statistics are those of a sequential
+   * run, with any number of threads. Spartanized code is written to a single
+   * {@link OutputSink}, indexed by the names of the files. */
   private static void analyze() {
-    final InteractiveSpartanizer spartanizer = addNanoPatterns(new InteractiveSpartanizer());
+    // Tracing a tip makes it again, and nano patterns log when they make a
+    // tip, so that traced tips would be counted twice, in whichever files
+    // happen to be analyzed first
+    TrimmerLog.setMaxTips(0);
+    TrimmerLog.setMaxVisitations(0);
     sanityCheck();
-    String spartanizedCode = "";
-    new File(outputDir + "/after.java").delete();
-    for (final File ¢ : getJavaFiles(inputDir)) {
-      final ASTNode cu = clean(getCompilationUnit(¢));
+    final String after = outputDir + "/after.java" + (gzip ? OutputSink.GZIP : "");
+    final ThreadLocal<InteractiveSpartanizer> spartanizer = ThreadLocal.withInitial(() -> addNanoPatterns(new InteractiveSpartanizer()));
+    final ExecutorService pool = Executors.newFixedThreadPool(threads);
+    final Deque<Future<Result>> pending = new ArrayDeque<>();
+    try (OutputSink sink = new OutputSink(after)) {
+      for (final File ¢ : getJavaFiles(inputDir)) {
+        pending.add(pool.submit(() -> analyze(¢, spartanizer.get())));
+        if (pending.size() >= 4 * threads)
+          consume(pending.remove(), sink);
+      }
+      while (!pending.isEmpty())
+        consume(pending.remove(), sink);
+    } catch (final IOException x) {
+      monitor.infoIOException(x, after);
+    } finally {
+      pool.shutdownNow();
+    }
+    Logger.summarize(outputDir);
+  }
+
+  private static Result analyze(final File f, final InteractiveSpartanizer s) {
+    final Logger.Shard $ = Logger.open();
+    try {
+      final ASTNode cu = clean(getCompilationUnit(f));
       Logger.logCompilationUnit(cu);
-      spartanizedCode = spartanizer.fixedPoint(cu + "");
-      appendFile(new File(outputDir + "/after.java"), spartanizedCode);
+      final String spartanizedCode = s.fixedPoint(cu + "");
       Logger.logSpartanizedCompilationUnit(getCompilationUnit(spartanizedCode));
+      return new Result(f.getPath(), spartanizedCode, $);
+    } finally {
+      $.close();
+    }
+  }
+
+  private static void consume(final Future<Result> r, final OutputSink after) throws IOException {
+    try {
+      final Result $ = r.get();
+      after.write($.fileName, $.spartanizedCode);
+      Logger.merge($.statistics);
+    } catch (final InterruptedException x) {
+      Thread.currentThread().interrupt();
+      monitor.logProbableBug(r, x);
+    } catch (final ExecutionException x) {
+      monitor.logProbableBug(r, x.getCause());
+    }
+  }
+
+  /** The spartanized code of a file, and the statistics logged while
+   * spartanizing it */
+  private static final class Result {
+    final String fileName;
+    final String spartanizedCode;
+    final Logger.Shard statistics;
+
+    Result(final String fileName, final String spartanizedCode, final Logger.Shard statistics) {
+      this.fileName = fileName;
+      this.spartanizedCode = spartanizedCode;
+      this.statistics = statistics;
     }
-    Logger.summarize(outputDir);
   }
 
   /** Add our wonderful patterns (which are actually just special tippers) to
@@ -20,11 +20,11 @@ import il.org.spartan.spartanizer.utils.*;
  * @author Ori Marcovitch
  * @since 2016 */
 public class Logger {
-  private static final Map<Integer, MethodRecord> methodsStatistics = new HashMap<>();
-  private static final Map<String, NPRecord> npStatistics = new HashMap<>();
-  private static final Map<String, Int> nodesStatistics = new HashMap<>();
-  private static final Map<Class<? extends ASTNode>, Int> codeStatistics = new HashMap<>();
-  private static int numMethods;
+  /** Statistics of a sequential run, and the statistics into which shards are
+   * merged */
+  private static final Shard global = new Shard();
+  /** Statistics into which the current thread logs */
+  private static final ThreadLocal<Shard> current = ThreadLocal.withInitial(() -> global);
 
   public static void summarize(final String outputDir) {
     summarizeMethodStatistics(outputDir);
@@ -38,8 +38,7 @@ public class Logger {
       return;
     double sumSratio = 0;
     double sumEratio = 0;
-    for (final Integer k : methodsStatistics.keySet()) {
-      final MethodRecord m = methodsStatistics.get(k);
+    for (final MethodRecord m : global.methods) {
       report //
           .put("Name", m.methodClassName + "~" + m.methodName) //
           .put("#Statement", m.numStatements) //
@@ -55,9 +54,9 @@ public class Logger {
       sumSratio += m.numStatements == 0 ? 1 : m.numNPStatements / m.numStatements;
       sumEratio += m.numExpressions == 0 ? 1 : m.numNPExpressions / m.numExpressions;
     }
-    System.out.println("Total methods number: " + numMethods);
-    System.out.println("Average statement ratio: " + sumSratio / numMethods);
-    System.out.println("Average Expression ratio: " + sumEratio / numMethods);
+    System.out.println("Total methods number: " + global.numMethods);
+    System.out.println("Average statement ratio: " + sumSratio / global.numMethods);
+    System.out.println("Average Expression ratio: " + sumEratio / global.numMethods);
     report.close();
   }
 
@@ -65,8 +64,7 @@ public class Logger {
     final CSVStatistics report = openNPSummaryFile(outputDir);
     if (report == null)
       return;
-    for (final String k : npStatistics.keySet()) {
-      final NPRecord n = npStatistics.get(k);
+    for (final NPRecord n : global.npStatistics.values()) {
       report //
           .put("Name", n.name) //
           .put("#Statement", n.numNPStatements) //
@@ -95,46 +93,41 @@ public class Logger {
   }
 
   private static void reset() {
-    methodsStatistics.clear();
-    numMethods = 0;
+    global.methods.clear();
+    global.methodsStatistics.clear();
+    global.numMethods = 0;
   }
 
-  public static void logNP(final ASTNode n, final String np) {
-    logMethodInfo(n, np);
-    logNPInfo(n, np);
+  /** Makes the current thread log into a fresh shard of statistics, until the
+   * shard is {@link Shard#close()}d
+   * @return the new shard */
+  static Shard open() {
+    final Shard $ = new Shard();
+    current.set($);
+    return $;
   }
 
-  /** @param n
-   * @param np */
-  private static void logNPInfo(final ASTNode n, final String np) {
-    execute(() -> npStatistics.put(np, new NPRecord(np, n.getClass()))).when(!npStatistics.containsKey(np));
-    npStatistics.get(np).markNP(n);
+  /** Adds the statistics of a closed shard to these of a sequential run.
+   * Merging the shards of files in the order in which a sequential run visits
+   * them, gives the same statistics as the sequential run.
+   * @param ¢ JD */
+  static void merge(final Shard ¢) {
+    global.merge(¢);
   }
 
-  /** @param ¢
-   * @param np */
-  static void logNodeInfo(final ASTNode ¢) {
-    final String nodeClassName = ¢.getClass().getSimpleName();
-    execute(() -> nodesStatistics.put(nodeClassName, new Int())).when(!nodesStatistics.containsKey(nodeClassName));
-    ++nodesStatistics.get(nodeClassName).inner;
+  public static void logNP(final ASTNode n, final String np) {
+    current.get().logNP(n, np);
   }
 
-  /** @param ¢
-   * @param np */
-  static void addToNodeType(final Class<? extends ASTNode> n, final int num) {
-    execute(() -> codeStatistics.put(n, new Int())).when(!codeStatistics.containsKey(n));
-    codeStatistics.get(n).inner += num;
+  /** @param ¢ */
+  static void logNodeInfo(final ASTNode ¢) {
+    current.get().logNodeInfo(¢);
   }
 
-  private static void logMethodInfo(final ASTNode n, final String np) {
-    final MethodDeclaration m = findMethodAncestor(n);
-    if (m == null) {
-      System.out.println(n);
-      return;
-    }
-    final Integer key = Integer.valueOf(m.hashCode());
-    execute(() -> methodsStatistics.put(key, new MethodRecord(m))).when(!methodsStatistics.containsKey(key));
-    methodsStatistics.get(key).markNP(n, np);
+  /** @param n
+   * @param num */
+  static void addToNodeType(final Class<? extends ASTNode> n, final int num) {
+    current.get().addToNodeType(n, num);
   }
 
   /** @param ¢
@@ -189,14 +182,13 @@ public class Logger {
       numNPStatements += metrics.countStatements(n);
       numNPExpressions += metrics.countExpressions(n);
       nps.add(np);
-      logNodeInfo(n);
     }
   }
 
   /** Collect statistics of a compilation unit which will be analyzed.
    * @param cu compilation unit */
   public static void logCompilationUnit(final ASTNode cu) {
-    numMethods += metrics.countMethods(cu);
+    current.get().numMethods += metrics.countMethods(cu);
   }
 
   /** Collects statistics for a nanopattern.
@@ -222,6 +214,90 @@ public class Logger {
       numNPStatements += metrics.countStatements(¢);
       numNPExpressions += metrics.countExpressions(¢);
     }
+
+    void merge(final NPRecord ¢) {
+      occurences += ¢.occurences;
+      numNPStatements += ¢.numNPStatements;
+      numNPExpressions += ¢.numNPExpressions;
+    }
+  }
+
+  /** Statistics logged by a thread, e.g., while it analyzes a single file.
+   * Methods are kept in the order they were first logged; a matched method is
+   * told by identity, rather than by hash code, and only while it is alive,
+   * so that the trees of analyzed files are not retained.
+   * @author Yossi Gil
+   * @since 2016 */
+  static final class Shard {
+    final List<MethodRecord> methods = new ArrayList<>();
+    final Map<MethodDeclaration, MethodRecord> methodsStatistics = new WeakHashMap<>();
+    final Map<String, NPRecord> npStatistics = new LinkedHashMap<>();
+    final Map<String, Int> nodesStatistics = new LinkedHashMap<>();
+    final Map<Class<? extends ASTNode>, Int> codeStatistics = new LinkedHashMap<>();
+    int numMethods;
+
+    /** Makes the current thread log into the statistics of a sequential run
+     * again */
+    void close() {
+      methodsStatistics.clear();
+      current.remove();
+    }
+
+    void logNP(final ASTNode n, final String np) {
+      logMethodInfo(n, np);
+      logNPInfo(n, np);
+    }
+
+    private void logNPInfo(final ASTNode n, final String np) {
+      execute(() -> npStatistics.put(np, new NPRecord(np, n.getClass()))).when(!npStatistics.containsKey(np));
+      npStatistics.get(np).markNP(n);
+    }
+
+    void logNodeInfo(final ASTNode ¢) {
+      final String nodeClassName = ¢.getClass().getSimpleName();
+      execute(() -> nodesStatistics.put(nodeClassName, new Int())).when(!nodesStatistics.containsKey(nodeClassName));
+      ++nodesStatistics.get(nodeClassName).inner;
+    }
+
+    void addToNodeType(final Class<? extends ASTNode> n, final int num) {
+      execute(() -> codeStatistics.put(n, new Int())).when(!codeStatistics.containsKey(n));
+      codeStatistics.get(n).inner += num;
+    }
+
+    private void logMethodInfo(final ASTNode n, final String np) {
+      final MethodDeclaration m = findMethodAncestor(n);
+      if (m == null) {
+        System.out.println(n);
+        return;
+      }
+      if (!methodsStatistics.containsKey(m)) {
+        final MethodRecord r = new MethodRecord(m);
+        methodsStatistics.put(m, r);
+        methods.add(r);
+      }
+      methodsStatistics.get(m).markNP(n, np);
+      logNodeInfo(n);
+    }
+
+    void merge(final Shard s) {
+      methods.addAll(s.methods);
+      numMethods += s.numMethods;
+      for (final NPRecord ¢ : s.npStatistics.values())
+        if (!npStatistics.containsKey(¢.name))
+          npStatistics.put(¢.name, ¢);
+        else
+          npStatistics.get(¢.name).merge(¢);
+      merge(nodesStatistics, s.nodesStatistics);
+      merge(codeStatistics, s.codeStatistics);
+    }
+
+    private static <K> void merge(final Map<K, Int> to, final Map<K, Int> from) {
+      for (final K ¢ : from.keySet())
+        if (!to.containsKey(¢))
+          to.put(¢, from.get(¢));
+        else
+          to.get(¢).inner += from.get(¢).inner;
+    }
   }
 
   /** @param compilationUnit */
@@ -6,6 +6,7 @@ import org.eclipse.jdt.core.dom.*;
 
 import il.org.spartan.spartanizer.ast.navigate.*;
 import il.org.spartan.spartanizer.ast.safety.*;
+import il.org.spartan.spartanizer.dispatch.*;
 import il.org.spartan.spartanizer.engine.*;
 import il.org.spartan.utils.*;
 
@@ -17,31 +18,59 @@ public class Matcher {
       return false;
     @SuppressWarnings("unchecked") final List<Statement> sp = az.block(p).statements();
     @SuppressWarnings("unchecked") final List<Statement> sn = az.block(n).statements();
-    if (sp == null || sn == null || sp.size() > sn.size())
-      return false;
-    for (int ¢ = 0; ¢ <= sn.size() - sp.size(); ++¢)
-      if (new Matcher().statementsMatch(sp, sn.subList(¢, ¢ + sp.size())))
-        return true;
-    return false;
+    return sp != null && sn != null && sp.size() <= sn.size() && blockMatching(sp, sn) >= 0;
   }
 
   public static boolean matches(final ASTNode p, final ASTNode n) {
-    return new Matcher().matchesAux(p, n);
+    return (!ground(p) || shape(p) == shape(n)) && new Matcher().matchesAux(p, n);
   }
 
   @SuppressWarnings("boxing") public static Pair<Integer, Integer> getBlockMatching(final Block p, final Block n) {
     @SuppressWarnings("unchecked") final List<Statement> sp = p.statements();
     @SuppressWarnings("unchecked") final List<Statement> sn = n.statements();
-    for (int ¢ = 0; ¢ <= sn.size() - sp.size(); ++¢)
-      if (new Matcher().statementsMatch(sp, sn.subList(¢, ¢ + sp.size())))
-        return new Pair<>(¢, ¢ + sp.size());
-    return null;
+    final int $ = blockMatching(sp, sn);
+    return $ < 0 ? null : new Pair<>($, $ + sp.size());
+  }
+
+  /** Finds the first sub sequence of statements matching a sequence of
+   * pattern statements. If no pattern statement has a wildcard, candidate
+   * offsets are found by a rolling hash of the {@link #shape(ASTNode)}s of
+   * the statements, and only these are matched.
+   * @param sp pattern statements
+   * @param sn statements
+   * @return offset of the first match in the statements, or -1 if there is
+   *         none */
+  private static int blockMatching(final List<Statement> sp, final List<Statement> sn) {
+    final int m = sp.size();
+    if (m > sn.size())
+      return -1;
+    final Matcher $ = new Matcher();
+    if (!ground(sp)) {
+      for (int ¢ = 0; ¢ <= sn.size() - m; ++¢)
+        if ($.statementsMatch(sp, sn.subList(¢, ¢ + m)))
+          return ¢;
+      return -1;
+    }
+    int power = 1, pattern = 0, window = 0;
+    for (int ¢ = 0; ¢ < m; ++¢) {
+      power = ¢ == 0 ? 1 : power * BASE;
+      pattern = pattern * BASE + shape(sp.get(¢));
+      window = window * BASE + shape(sn.get(¢));
+    }
+    for (int ¢ = 0;; ++¢) {
+      if (window == pattern && $.statementsMatch(sp, sn.subList(¢, ¢ + m)))
+        return ¢;
+      if (¢ + m >= sn.size())
+        return -1;
+      window = (window - shape(sn.get(¢)) * power) * BASE + shape(sn.get(¢ + m));
+    }
   }
 
   /** @param sp
    * @param subList
    * @return */
   private boolean statementsMatch(final List<Statement> sp, final List<Statement> subList) {
+    ids.clear();
     for (int ¢ = 0; ¢ < sp.size(); ++¢)
       if (!matchesAux(sp.get(¢), subList.get(¢)))
         return false;
@@ -93,7 +122,7 @@ public class Matcher {
     if (iz.literal(p))
       return sameLiteral(p, n);
     if (isBlockVariable(p))
-      return matchesBlock(n) && consistent(blockName(p), n + "");
+      return matchesBlock(n) && consistent(blockName(p), text(n));
     if (isMethodInvocationAndHas$AArgument(p))
       return isMethodInvocationAndConsistentWith$AArgument(p, n) && Recurser.children(n).size() == Recurser.children(p).size();
     if (isClassInstanceCreationAndHas$AArgument(p))
@@ -101,7 +130,7 @@ public class Matcher {
     if (differentTypes(p, n))
       return false;
     if (iz.literal(p))
-      return (p + "").equals(n + "");
+      return text(p).equals(text(n));
     if (iz.containsOperator(p) && !sameOperator(p, n))
       return false;
     final List<? extends ASTNode> nChildren = Recurser.children(n);
@@ -122,14 +151,14 @@ public class Matcher {
    * @return */
   private boolean isMethodInvocationAndConsistentWith$AArgument(final ASTNode p, final ASTNode n) {
     return iz.methodInvocation(n) && sameName(az.methodInvocation(p).getName(), az.methodInvocation(n).getName())
-        && consistent(az.methodInvocation(p).arguments().get(0) + "", az.methodInvocation(n).arguments() + "");
+        && consistent(text((ASTNode) az.methodInvocation(p).arguments().get(0)), text(az.methodInvocation(n).arguments()));
   }
 
   /** @param p
    * @return */
   private static boolean isMethodInvocationAndHas$AArgument(final ASTNode p) {
     return iz.methodInvocation(p) && az.methodInvocation(p).arguments().size() == 1
-        && (az.methodInvocation(p).arguments().get(0) + "").startsWith("$A");
+        && text((ASTNode) az.methodInvocation(p).arguments().get(0)).startsWith("$A");
   }
 
   /** @param n
@@ -140,21 +169,21 @@ public class Matcher {
 
   public boolean isClassInstanceCreationAndConsistentWith$AArgument(final ASTNode n, final ClassInstanceCreation c) {
     return iz.classInstanceCreation(n) && sameName(c.getType(), az.classInstanceCreation(n).getType())
-        && consistent(c.arguments().get(0) + "", az.classInstanceCreation(n).arguments() + "");
+        && consistent(text((ASTNode) c.arguments().get(0)), text(az.classInstanceCreation(n).arguments()));
   }
 
   /** @param p
    * @return */
   private static boolean isClassInstanceCreationAndHas$AArgument(final ASTNode p) {
     return iz.classInstanceCreation(p) && az.classInstanceCreation(p).arguments().size() == 1
-        && (az.classInstanceCreation(p).arguments().get(0) + "").startsWith("$A");
+        && text((ASTNode) az.classInstanceCreation(p).arguments().get(0)).startsWith("$A");
   }
 
   /** @param p
    * @param n
    * @return */
   private static boolean sameLiteral(final ASTNode p, final ASTNode n) {
-    return iz.literal(n) && (p + "").equals(n + "");
+    return iz.literal(n) && text(p).equals(text(n));
   }
 
   private static boolean differentTypes(final ASTNode p, final ASTNode n) {
@@ -180,15 +209,152 @@ public class Matcher {
     final String id = ((Name) p).getFullyQualifiedName();
     if (id.startsWith("$")) {
       if (id.startsWith("$X"))
-        return n instanceof Expression && consistent(id, n + "");
+        return n instanceof Expression && consistent(id, text(n));
       if (id.startsWith("$M"))
-        return n instanceof MethodInvocation && consistent(id, n + "");
+        return n instanceof MethodInvocation && consistent(id, text(n));
       if (id.startsWith("$N"))
-        return iz.name(n) && consistent(id, n + "");
+        return iz.name(n) && consistent(id, text(n));
     }
     return n instanceof Name && id.equals(((Name) n).getFullyQualifiedName());
   }
 
+  /** Multiplier of hashes of sequences */
+  private static final int BASE = 31;
+
+  /** @param ¢ JD
+   * @return <code><b>true</b></code> <em>iff</em> the parameter has no
+   *         <code>$</code> wildcards, so that it matches only nodes of the
+   *         same {@link #shape(ASTNode)} */
+  static boolean ground(final ASTNode ¢) {
+    return Shape.of(¢).hashed().ground;
+  }
+
+  private static boolean ground(final List<Statement> ss) {
+    for (final Statement ¢ : ss)
+      if (!ground(¢))
+        return false;
+    return true;
+  }
+
+  /** A structural hash of a node, made of exactly what
+   * {@link #matchesAux(ASTNode, ASTNode)} compares: names, literals, node
+   * types, operators and, recursively, children. A node matches a
+   * {@link #ground(ASTNode)} pattern only if both have the same shape; nodes
+   * of different shapes are thus told apart in constant time, once shapes are
+   * computed. Shapes are memoized in the nodes, and recomputed if their
+   * {@link AST} was modified.
+   * @param ¢ JD
+   * @return the shape of the parameter */
+  static int shape(final ASTNode ¢) {
+    return Shape.of(¢).hashed().hash;
+  }
+
+  /** @param ¢ JD
+   * @return the text of the parameter, as in {@link ASTNode#toString()},
+   *         memoized along with its {@link #shape(ASTNode)}, so that a node
+   *         is rendered once, rather than once per pattern it is bound to */
+  static String text(final ASTNode ¢) {
+    final Shape $ = Shape.of(¢);
+    if ($.text == null)
+      $.text = ¢ + "";
+    return $.text;
+  }
+
+  /** Computes the {@link #shape(ASTNode)} and the {@link #text(ASTNode)} of
+   * every node of a pattern. Matching then only reads the data of the
+   * pattern's nodes, so the pattern may be shared by threads; writing it,
+   * through {@link ASTNode#setProperty(String, Object)}, is not thread safe.
+   * @param ¢ a pattern
+   * @return the parameter */
+  static <N extends ASTNode> N prepared(final N ¢) {
+    if (¢ != null)
+      ¢.accept(new ASTVisitor(true) {
+        @Override public boolean preVisit2(final ASTNode n) {
+          Shape.of(n).hashed();
+          text(n);
+          return true;
+        }
+      });
+    return ¢;
+  }
+
+  /** @param ns JD
+   * @return the text of the parameter, as in {@link List#toString()} */
+  private static String text(final List<?> ns) {
+    final StringBuilder $ = new StringBuilder("[");
+    for (final Object ¢ : ns)
+      $.append($.length() == 1 ? "" : ", ").append(text((ASTNode) ¢));
+    return $.append(']') + "";
+  }
+
+  private static final class Shape {
+    static Shape of(final ASTNode n) {
+      final long stamp = n.getAST().modificationCount();
+      final Shape $ = NodeData.get(n, NodeData.Key.SHAPE);
+      return $ != null && $.stamp == stamp ? $ : NodeData.set(n, NodeData.Key.SHAPE, new Shape(n, stamp));
+    }
+
+    final ASTNode node;
+    final long stamp;
+    /** Set after {@link #hash} and {@link #ground} */
+    volatile boolean hashed;
+    int hash;
+    boolean ground;
+    String text;
+
+    private Shape(final ASTNode node, final long stamp) {
+      this.node = node;
+      this.stamp = stamp;
+    }
+
+    Shape hashed() {
+      if (hashed)
+        return this;
+      if (iz.name(node)) {
+        final String id = ((Name) node).getFullyQualifiedName();
+        return hashed(ASTNode.SIMPLE_NAME + BASE * id.hashCode(), !id.startsWith("$"));
+      }
+      if (iz.literal(node))
+        return hashed(ASTNode.STRING_LITERAL + BASE * text(node).hashCode(), true);
+      int $ = node.getNodeType();
+      if (iz.containsOperator(node))
+        $ = $ * BASE + operator(node).hashCode();
+      final List<? extends ASTNode> children = Recurser.children(node);
+      if (children == null)
+        return hashed($, false);
+      final List<Object> all = new ArrayList<>(children);
+      if (iz.methodInvocation(node))
+        all.addAll((List<?>) az.methodInvocation(node).arguments());
+      boolean ground = true;
+      for (final Object ¢ : all) {
+        final Shape s = of((ASTNode) ¢).hashed();
+        $ = $ * BASE + s.hash;
+        ground &= s.ground;
+      }
+      return hashed($, ground);
+    }
+
+    private Shape hashed(final int hash, final boolean ground) {
+      this.hash = hash;
+      this.ground = ground;
+      hashed = true;
+      return this;
+    }
+
+    private static Object operator(final ASTNode ¢) {
+      switch (¢.getNodeType()) {
+        case ASTNode.PREFIX_EXPRESSION:
+          return step.operator((PrefixExpression) ¢);
+        case ASTNode.INFIX_EXPRESSION:
+          return step.operator((InfixExpression) ¢);
+        case ASTNode.POSTFIX_EXPRESSION:
+          return step.operator((PostfixExpression) ¢);
+        default:
+          return step.operator((Assignment) ¢);
+      }
+    }
+  }
+
   @SuppressWarnings("unchecked") public static Map<String, String> collectEnviroment(final ASTNode p, final ASTNode n,
       final Map<String, String> enviroment) {
     if (iz.name(p)) {
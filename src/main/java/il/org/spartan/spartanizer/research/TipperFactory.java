@@ -30,7 +30,7 @@ public class TipperFactory {
   private static <N extends ASTNode> UserDefinedTipper<N> newSubBlockTipper(final String _pattern, final String _replacement,
       final String description) {
     return new UserDefinedTipper<N>() {
-      final ASTNode pattern = wizard.ast(reformat$Bs(_pattern));
+      final ASTNode pattern = Matcher.prepared(wizard.ast(reformat$Bs(_pattern)));
       final String replacement = reformat$Bs(_replacement);
 
       @Override @SuppressWarnings("boxing") public Tip tip(final N n) {
@@ -60,6 +60,10 @@ public class TipperFactory {
         return Matcher.blockMatches(pattern, ¢);
       }
 
+      @Override public ASTNode pattern() {
+        return pattern;
+      }
+
       @Override public String description(@SuppressWarnings("unused") final N __) {
         return description;
       }
@@ -71,7 +75,7 @@ public class TipperFactory {
   }
 
   public static <N extends ASTNode> UserDefinedTipper<N> tipper(final String _pattern, final String _replacement, final String description) {
-    final ASTNode pattern = extractStatementIfOne(wizard.ast(reformat$Bs(_pattern)));
+    final ASTNode pattern = Matcher.prepared(extractStatementIfOne(wizard.ast(reformat$Bs(_pattern))));
     final String replacement = reformat$Bs(_replacement);
     return new UserDefinedTipper<N>() {
       @Override public String description(@SuppressWarnings("unused") final N __) {
@@ -103,6 +107,10 @@ public class TipperFactory {
         return Matcher.matches(pattern, ¢);
       }
 
+      @Override public ASTNode pattern() {
+        return pattern;
+      }
+
       Map<String, String> collectEnviroment(final ASTNode ¢) {
         return Matcher.collectEnviroment(pattern, ¢, new HashMap<>());
       }
@@ -0,0 +1,203 @@
+package il.org.spartan.spartanizer.research;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.jdt.core.dom.*;
+
+import il.org.spartan.spartanizer.ast.navigate.*;
+import il.org.spartan.spartanizer.ast.safety.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** A set of {@link UserDefinedTipper}s, compiled into a decision tree over
+ * their patterns: tippers are indexed by the node type of the pattern's root,
+ * and then told apart by its operator and by the node types of its children,
+ * as {@link Matcher} compares them. A node is thus matched only against the
+ * patterns it may match, and the children of a node are gathered once for
+ * all of these, rather than once per pattern. Tippers are tried in the order
+ * they were added.
+ * @since 2026-10-17 */
+public final class TipperIndex<N extends ASTNode> implements Iterable<UserDefinedTipper<N>> {
+  /** Node type of a pattern, or of a child of a pattern, which matches nodes
+   * of any type */
+  private static final int ANY = -1;
+  private final List<Entry<N>> entries = new ArrayList<>();
+  /** Entries which may match nodes of a given type, computed on first use */
+  private final Map<Integer, List<Entry<N>>> byType = new ConcurrentHashMap<>();
+
+  /** @param ¢ JD
+   * @return <code><b>this</b></code> */
+  public TipperIndex<N> add(final UserDefinedTipper<N> ¢) {
+    entries.add(new Entry<>(¢));
+    byType.clear();
+    return this;
+  }
+
+  /** @param ¢ JD
+   * @return <code><b>true</b></code> <em>iff</em> one of the tippers can tip
+   *         the parameter */
+  public boolean canTip(final N ¢) {
+    return firstTipper(¢) != null;
+  }
+
+  /** @param n JD
+   * @return first tipper which can tip the parameter, or
+   *         <code><b>null</b></code> if there is none */
+  public UserDefinedTipper<N> firstTipper(final N n) {
+    if (n == null)
+      return null;
+    final Candidate c = new Candidate(n);
+    for (final Entry<N> $ : candidates(n))
+      if ($.accepts(c) && $.tipper.canTip(n))
+        return $.tipper;
+    return null;
+  }
+
+  /** @param n JD
+   * @return all tippers which can tip the parameter, in order */
+  public List<UserDefinedTipper<N>> tippers(final N n) {
+    final List<UserDefinedTipper<N>> $ = new ArrayList<>();
+    if (n == null)
+      return $;
+    final Candidate c = new Candidate(n);
+    for (final Entry<N> ¢ : candidates(n))
+      if (¢.accepts(c) && ¢.tipper.canTip(n))
+        $.add(¢.tipper);
+    return $;
+  }
+
+  @Override public Iterator<UserDefinedTipper<N>> iterator() {
+    final Iterator<Entry<N>> $ = entries.iterator();
+    return new Iterator<UserDefinedTipper<N>>() {
+      @Override public boolean hasNext() {
+        return $.hasNext();
+      }
+
+      @Override public UserDefinedTipper<N> next() {
+        return $.next().tipper;
+      }
+    };
+  }
+
+  /** @return number of tippers */
+  public int size() {
+    return entries.size();
+  }
+
+  private List<Entry<N>> candidates(final ASTNode n) {
+    return byType.computeIfAbsent(Integer.valueOf(n.getNodeType()), type -> {
+      final List<Entry<N>> $ = new ArrayList<>();
+      for (final Entry<N> ¢ : entries)
+        if (¢.type == ANY || ¢.type == type.intValue())
+          $.add(¢);
+      return $;
+    });
+  }
+
+  /** @param ¢ a pattern, or a child of a pattern
+   * @return the node type of nodes which it may match, or {@link #ANY} */
+  static int type(final ASTNode ¢) {
+    return ¢ == null || iz.name(¢) || iz.literal(¢) || TipperFactory.isBlockVariable(¢) ? ANY : ¢.getNodeType();
+  }
+
+  /** @param ¢ JD
+   * @return children of the parameter in the order {@link Matcher} compares
+   *         them, or <code><b>null</b></code> if they cannot be found */
+  @SuppressWarnings("unchecked") static List<ASTNode> children(final ASTNode ¢) {
+    final List<? extends ASTNode> children = Recurser.children(¢);
+    if (children == null)
+      return null;
+    final List<ASTNode> $ = new ArrayList<>(children);
+    if (iz.methodInvocation(¢))
+      $.addAll(az.methodInvocation(¢).arguments());
+    return $;
+  }
+
+  static Object operator(final ASTNode ¢) {
+    switch (¢.getNodeType()) {
+      case ASTNode.PREFIX_EXPRESSION:
+        return step.operator((PrefixExpression) ¢);
+      case ASTNode.INFIX_EXPRESSION:
+        return step.operator((InfixExpression) ¢);
+      case ASTNode.POSTFIX_EXPRESSION:
+        return step.operator((PostfixExpression) ¢);
+      case ASTNode.ASSIGNMENT:
+        return step.operator((Assignment) ¢);
+      default:
+        return null;
+    }
+  }
+
+  /** A node being matched, with its children gathered on first use */
+  private static final class Candidate {
+    final ASTNode node;
+    private boolean gathered;
+    private List<ASTNode> children;
+
+    Candidate(final ASTNode node) {
+      this.node = node;
+    }
+
+    List<ASTNode> children() {
+      if (!gathered) {
+        gathered = true;
+        children = TipperIndex.children(node);
+      }
+      return children;
+    }
+  }
+
+  /** A tipper, with the tests on a node its pattern makes before matching its
+   * subtrees */
+  private static final class Entry<N extends ASTNode> {
+    final UserDefinedTipper<N> tipper;
+    /** Node type of the root of the pattern */
+    final int type;
+    /** Operator of the root of the pattern, if it has one */
+    final Object operator;
+    /** Node types of the children of the pattern, or
+     * <code><b>null</b></code> if these are not compared position by
+     * position */
+    final int[] children;
+
+    Entry(final UserDefinedTipper<N> tipper) {
+      this.tipper = tipper;
+      final ASTNode p = tipper.pattern();
+      type = p == null ? ANY : type(p);
+      operator = type == ANY ? null : operator(p);
+      children = type == ANY || iz.block(p) || wildArguments(p) ? null : types(children(p));
+    }
+
+    boolean accepts(final Candidate c) {
+      if (operator != null && !operator.equals(operator(c.node)))
+        return false;
+      if (children == null)
+        return true;
+      final List<ASTNode> $ = c.children();
+      if ($ == null || $.size() != children.length)
+        return false;
+      for (int ¢ = 0; ¢ < children.length; ++¢)
+        if (children[¢] != ANY && ($.get(¢) == null || $.get(¢).getNodeType() != children[¢]))
+          return false;
+      return true;
+    }
+
+    /** @return <code><b>true</b></code> <em>iff</em> the parameter takes a
+     *         <code>$A</code> list of arguments, so that its children are not
+     *         compared one by one */
+    private static boolean wildArguments(final ASTNode ¢) {
+      final List<?> $ = iz.methodInvocation(¢) ? az.methodInvocation(¢).arguments()
+          : iz.classInstanceCreation(¢) ? az.classInstanceCreation(¢).arguments() : null;
+      return $ != null && $.size() == 1 && ($.get(0) + "").startsWith("$A");
+    }
+
+    private static int[] types(final List<ASTNode> ns) {
+      if (ns == null)
+        return null;
+      final int[] $ = new int[ns.size()];
+      for (int ¢ = 0; ¢ < $.length; ++¢)
+        $[¢] = type(ns.get(¢));
+      return $;
+    }
+  }
+}
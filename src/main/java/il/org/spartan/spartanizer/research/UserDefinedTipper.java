@@ -13,4 +13,7 @@ public abstract class UserDefinedTipper<N extends ASTNode> extends Tipper<N> imp
   }
 
   protected abstract boolean prerequisite(final N ¢);
+
+  /** @return the pattern of this tipper, as parsed */
+  public abstract ASTNode pattern();
 }
\ No newline at end of file
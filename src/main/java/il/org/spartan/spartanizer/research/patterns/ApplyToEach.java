@@ -1,7 +1,5 @@
 package il.org.spartan.spartanizer.research.patterns;
 
-import java.util.*;
-
 import org.eclipse.jdt.core.dom.*;
 import org.eclipse.jdt.core.dom.rewrite.*;
 import org.eclipse.text.edits.*;
@@ -15,19 +13,12 @@ import il.org.spartan.spartanizer.tipping.*;
 /** @author Ori Marcovitch
  * @since 2016 */
 public class ApplyToEach extends NanoPatternTipper<EnhancedForStatement> {
-  Set<UserDefinedTipper<EnhancedForStatement>> tippers = new HashSet<UserDefinedTipper<EnhancedForStatement>>() {
-    static final long serialVersionUID = 1L;
-    {
-      add(TipperFactory.tipper("for($N1 $N2 : $X) $N2.$N3($A);", "on($X).apply(¢ -> ¢.$N3($A));", ""));
-      add(TipperFactory.tipper("for($N1 $N2 : $X) $N3($N2);", "on($X).apply(¢ -> $N3(¢));", ""));
-    }
-  };
+  final TipperIndex<EnhancedForStatement> tippers = new TipperIndex<EnhancedForStatement>()
+      .add(TipperFactory.tipper("for($N1 $N2 : $X) $N2.$N3($A);", "on($X).apply(¢ -> ¢.$N3($A));", ""))
+      .add(TipperFactory.tipper("for($N1 $N2 : $X) $N3($N2);", "on($X).apply(¢ -> $N3(¢));", ""));
 
   @Override public boolean canTip(final EnhancedForStatement s) {
-    for (final UserDefinedTipper<EnhancedForStatement> ¢ : tippers)
-      if (¢.canTip(s))
-        return true;
-    return false;
+    return tippers.canTip(s);
   }
 
   @Override public String description(@SuppressWarnings("unused") final EnhancedForStatement __) {
@@ -37,16 +28,15 @@ public class ApplyToEach extends NanoPatternTipper<EnhancedForStatement> {
   @Override public Tip tip(final EnhancedForStatement s) {
     return new Tip(description(s), s, this.getClass()) {
       @Override public void go(final ASTRewrite r, final TextEditGroup g) {
-        for (final UserDefinedTipper<EnhancedForStatement> ¢ : tippers)
-          if (¢.canTip(s))
-            try {
-              ¢.tip(s).go(r, g);
-              idiomatic.addImport(az.compilationUnit(searchAncestors.forClass(CompilationUnit.class).from(s)), r);
-              Logger.logNP(s, getClass() + "");
-              return;
-            } catch (final TipperFailure x1) {
-              x1.printStackTrace();
-            }
+        for (final UserDefinedTipper<EnhancedForStatement> ¢ : tippers.tippers(s))
+          try {
+            ¢.tip(s).go(r, g);
+            idiomatic.addImport(az.compilationUnit(searchAncestors.forClass(CompilationUnit.class).from(s)), r);
+            Logger.logNP(s, getClass() + "");
+            return;
+          } catch (final TipperFailure x1) {
+            x1.printStackTrace();
+          }
         assert false;
       }
     };
@@ -1,7 +1,5 @@
 package il.org.spartan.spartanizer.research.patterns;
 
-import java.util.*;
-
 import org.eclipse.jdt.core.dom.*;
 
 import il.org.spartan.spartanizer.engine.*;
@@ -11,33 +9,24 @@ import il.org.spartan.spartanizer.tipping.*;
 /** @author Ori Marcovitch
  * @year 2016 */
 public final class AssignmentLazyEvaluation extends NanoPatternTipper<Assignment> {
-  static Set<UserDefinedTipper<Assignment>> tippers = new HashSet<UserDefinedTipper<Assignment>>() {
-    static final long serialVersionUID = 1L;
-    {
-      add(TipperFactory.tipper("$X1 = $X1 != null ? $X1 : $X2", "lazyEvaluatedTo($X1,$X2)", "lazy evaluation"));
-      add(TipperFactory.tipper("$X1 = $X1 == null ? $X2 : $X1", "lazyEvaluatedTo($X1,$X2)", "lazy evaluation"));
-      add(TipperFactory.tipper("$X1 = null != $X1 ? $X1 : $X2", "lazyEvaluatedTo($X1,$X2)", "lazy evaluation"));
-      add(TipperFactory.tipper("$X1 = null == $X1 ? $X2 : $X1", "lazyEvaluatedTo($X1,$X2)", "lazy evaluation"));
-    }
-  };
+  static final TipperIndex<Assignment> tippers = new TipperIndex<Assignment>()
+      .add(TipperFactory.tipper("$X1 = $X1 != null ? $X1 : $X2", "lazyEvaluatedTo($X1,$X2)", "lazy evaluation"))
+      .add(TipperFactory.tipper("$X1 = $X1 == null ? $X2 : $X1", "lazyEvaluatedTo($X1,$X2)", "lazy evaluation"))
+      .add(TipperFactory.tipper("$X1 = null != $X1 ? $X1 : $X2", "lazyEvaluatedTo($X1,$X2)", "lazy evaluation"))
+      .add(TipperFactory.tipper("$X1 = null == $X1 ? $X2 : $X1", "lazyEvaluatedTo($X1,$X2)", "lazy evaluation"));
 
   @Override public String description(@SuppressWarnings("unused") final Assignment __) {
     return "replace lazy evaluation with lazyEvaluatedTo($X1,$X2)";
   }
 
   @Override public boolean canTip(final Assignment x) {
-    for (final UserDefinedTipper<Assignment> ¢ : tippers)
-      if (¢.canTip(x))
-        return true;
-    return false;
+    return tippers.canTip(x);
   }
 
   @Override public Tip tip(final Assignment x) throws TipperFailure {
     Logger.logNP(x, "cachingPattern");
-    for (final UserDefinedTipper<Assignment> ¢ : tippers)
-      if (¢.canTip(x))
-        return ¢.tip(x);
-    assert false;
-    return null;
+    final UserDefinedTipper<Assignment> $ = tippers.firstTipper(x);
+    assert $ != null;
+    return $.tip(x);
   }
 }
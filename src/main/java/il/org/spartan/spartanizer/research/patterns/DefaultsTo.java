@@ -1,7 +1,5 @@
 package il.org.spartan.spartanizer.research.patterns;
 
-import java.util.*;
-
 import org.eclipse.jdt.core.dom.*;
 
 import il.org.spartan.spartanizer.engine.*;
@@ -15,39 +13,30 @@ import il.org.spartan.spartanizer.tipping.*;
  * @author Ori Marcovitch
  * @year 2016 */
 public final class DefaultsTo extends NanoPatternTipper<ConditionalExpression> {
-  List<UserDefinedTipper<ConditionalExpression>> tippers = new ArrayList<UserDefinedTipper<ConditionalExpression>>() {
-    static final long serialVersionUID = 1L;
-    {
-      add(TipperFactory.tipper("$X1 != null ? $X1 : $X2", "default¢($X1).to($X2)", ""));
-      add(TipperFactory.tipper("$X1 == null ? $X2 : $X1", "default¢($X1).to($X2)", ""));
-      add(TipperFactory.tipper("null != $X1 ? $X1 : $X2", "default¢($X1).to($X2)", ""));
-      add(TipperFactory.tipper("null == $X1 ? $X2 : $X1", "default¢($X1).to($X2)", ""));
-      // add(TipperFactory.tipper("$X1 == null ? $X2 : $X3", "defaultsTo($X1,
-      // $X2, $X3)", ""));
-      // add(TipperFactory.tipper("null != $X1 ? $X2 : $X3", "defaultsTo($X1,
-      // $X2, $X3)", ""));
-      // add(TipperFactory.tipper("null == $X1 ? $X2 : $X3", "defaultsTo($X1,
-      // $X2, $X3)", ""));
-    }
-  };
+  final TipperIndex<ConditionalExpression> tippers = new TipperIndex<ConditionalExpression>()
+      .add(TipperFactory.tipper("$X1 != null ? $X1 : $X2", "default¢($X1).to($X2)", ""))
+      .add(TipperFactory.tipper("$X1 == null ? $X2 : $X1", "default¢($X1).to($X2)", ""))
+      .add(TipperFactory.tipper("null != $X1 ? $X1 : $X2", "default¢($X1).to($X2)", ""))
+      .add(TipperFactory.tipper("null == $X1 ? $X2 : $X1", "default¢($X1).to($X2)", ""));
+  // .add(TipperFactory.tipper("$X1 == null ? $X2 : $X3", "defaultsTo($X1,
+  // $X2, $X3)", ""))
+  // .add(TipperFactory.tipper("null != $X1 ? $X2 : $X3", "defaultsTo($X1,
+  // $X2, $X3)", ""))
+  // .add(TipperFactory.tipper("null == $X1 ? $X2 : $X3", "defaultsTo($X1,
+  // $X2, $X3)", ""));
 
   @Override public String description(@SuppressWarnings("unused") final ConditionalExpression __) {
     return "defaulsTo pattern";
   }
 
   @Override public boolean canTip(final ConditionalExpression x) {
-    for (final UserDefinedTipper<ConditionalExpression> ¢ : tippers)
-      if (¢.canTip(x))
-        return true;
-    return false;
+    return tippers.canTip(x);
   }
 
   @Override public Tip tip(final ConditionalExpression x) throws TipperFailure {
     Logger.logNP(x, "defaultsTo");
-    for (final UserDefinedTipper<ConditionalExpression> ¢ : tippers)
-      if (¢.canTip(x))
-        return ¢.tip(x);
-    assert false;
-    return null;
+    final UserDefinedTipper<ConditionalExpression> $ = tippers.firstTipper(x);
+    assert $ != null;
+    return $.tip(x);
   }
 }
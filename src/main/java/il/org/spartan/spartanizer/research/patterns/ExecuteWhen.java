@@ -1,7 +1,5 @@
 package il.org.spartan.spartanizer.research.patterns;
 
-import java.util.*;
-
 import org.eclipse.jdt.core.dom.*;
 import org.eclipse.jdt.core.dom.rewrite.*;
 import org.eclipse.text.edits.*;
@@ -16,23 +14,16 @@ import il.org.spartan.spartanizer.tipping.*;
  * @author Ori Marcovitch
  * @year 2016 */
 public final class ExecuteWhen extends NanoPatternTipper<IfStatement> {
-  Set<UserDefinedTipper<IfStatement>> tippers = new HashSet<UserDefinedTipper<IfStatement>>() {
-    static final long serialVersionUID = 1L;
-    {
-      add(TipperFactory.tipper("if($X) $N($A);", "execute((__) -> $N($A)).when($X);", "turn into when(X).execute(Y)"));
-      add(TipperFactory.tipper("if($X1) $X2.$N($A);", "execute((__) -> $X2.$N($A)).when($X1);", "turn into when(X).execute(Y)"));
-    }
-  };
+  final TipperIndex<IfStatement> tippers = new TipperIndex<IfStatement>()
+      .add(TipperFactory.tipper("if($X) $N($A);", "execute((__) -> $N($A)).when($X);", "turn into when(X).execute(Y)"))
+      .add(TipperFactory.tipper("if($X1) $X2.$N($A);", "execute((__) -> $X2.$N($A)).when($X1);", "turn into when(X).execute(Y)"));
 
   @Override public String description(@SuppressWarnings("unused") final IfStatement __) {
     return "turn into when(x).execute(()->y)";
   }
 
   @Override public boolean canTip(final IfStatement x) {
-    for (final UserDefinedTipper<IfStatement> ¢ : tippers)
-      if (¢.canTip(x) && !throwing(step.then(x)) && !iz.returnStatement(step.then(x)) && !containsReferencesToNonFinal(x))
-        return true;
-    return false;
+    return tippers.canTip(x) && !throwing(step.then(x)) && !iz.returnStatement(step.then(x)) && !containsReferencesToNonFinal(x);
   }
 
   /** @param x
@@ -61,16 +52,15 @@ public final class ExecuteWhen extends NanoPatternTipper<IfStatement> {
   @Override public Tip tip(final IfStatement x) {
     return new Tip(description(x), x, this.getClass()) {
       @Override public void go(final ASTRewrite r, final TextEditGroup g) {
-        for (final UserDefinedTipper<IfStatement> ¢ : tippers)
-          if (¢.canTip(x))
-            try {
-              ¢.tip(x).go(r, g);
-              idiomatic.addImport(az.compilationUnit(searchAncestors.forClass(CompilationUnit.class).from(x)), r);
-              Logger.logNP(x, "ApplyWhen");
-              return;
-            } catch (final TipperFailure x1) {
-              x1.printStackTrace();
-            }
+        for (final UserDefinedTipper<IfStatement> ¢ : tippers.tippers(x))
+          try {
+            ¢.tip(x).go(r, g);
+            idiomatic.addImport(az.compilationUnit(searchAncestors.forClass(CompilationUnit.class).from(x)), r);
+            Logger.logNP(x, "ApplyWhen");
+            return;
+          } catch (final TipperFailure x1) {
+            x1.printStackTrace();
+          }
         assert false;
       }
     };
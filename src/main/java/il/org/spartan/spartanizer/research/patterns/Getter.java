@@ -1,7 +1,5 @@
 package il.org.spartan.spartanizer.research.patterns;
 
-import java.util.*;
-
 import org.eclipse.jdt.core.dom.*;
 
 import il.org.spartan.spartanizer.ast.navigate.*;
@@ -10,20 +8,13 @@ import il.org.spartan.spartanizer.research.*;
 /** @author Ori Marcovitch
  * @since 2016 */
 public class Getter extends JavadocMarkerNanoPattern<MethodDeclaration> {
-  Set<UserDefinedTipper<Statement>> tippers = new HashSet<UserDefinedTipper<Statement>>() {
-    static final long serialVersionUID = 1L;
-    {
-      add(TipperFactory.tipper("return $N;", "", ""));
-      add(TipperFactory.tipper("return this.$N;", "", ""));
-    }
-  };
+  final TipperIndex<Statement> tippers = new TipperIndex<Statement>()
+      .add(TipperFactory.tipper("return $N;", "", ""))
+      .add(TipperFactory.tipper("return this.$N;", "", ""));
 
   @Override protected boolean prerequisites(final MethodDeclaration d) {
     if (step.body(d) == null || step.statements(step.body(d)) == null || step.statements(step.body(d)).isEmpty())
       return false;
-    for (final UserDefinedTipper<Statement> ¢ : tippers)
-      if (¢.canTip(step.statements(step.body(d)).get(0)))
-        return true;
-    return false;
+    return tippers.canTip(step.statements(step.body(d)).get(0));
   }
 }
@@ -1,7 +1,5 @@
 package il.org.spartan.spartanizer.research.patterns;
 
-import java.util.*;
-
 import org.eclipse.jdt.core.dom.*;
 
 import il.org.spartan.spartanizer.engine.*;
@@ -13,31 +11,22 @@ import il.org.spartan.spartanizer.tipping.*;
  * @author Ori Marcovitch
  * @year 2016 */
 public final class IfNullReturn extends NanoPatternTipper<IfStatement> {
-  static Set<UserDefinedTipper<IfStatement>> tippers = new HashSet<UserDefinedTipper<IfStatement>>() {
-    static final long serialVersionUID = 1L;
-    {
-      add(TipperFactory.tipper("if($X == null) return;", "returnIfNull($X);", ""));
-      add(TipperFactory.tipper("if(null == $X) return;", "returnIfNull($X);", ""));
-    }
-  };
+  static final TipperIndex<IfStatement> tippers = new TipperIndex<IfStatement>()
+      .add(TipperFactory.tipper("if($X == null) return;", "returnIfNull($X);", ""))
+      .add(TipperFactory.tipper("if(null == $X) return;", "returnIfNull($X);", ""));
 
   @Override public String description(@SuppressWarnings("unused") final IfStatement __) {
     return "replace with #default #deault x";
   }
 
   @Override public boolean canTip(final IfStatement s) {
-    for (final UserDefinedTipper<IfStatement> ¢ : tippers)
-      if (¢.canTip(s))
-        return true;
-    return false;
+    return tippers.canTip(s);
   }
 
   @Override public Tip tip(final IfStatement s) throws TipperFailure {
     Logger.logNP(s, "IfNullReturn");
-    for (final UserDefinedTipper<IfStatement> ¢ : tippers)
-      if (¢.canTip(s))
-        return ¢.tip(s);
-    assert false;
-    return null;
+    final UserDefinedTipper<IfStatement> $ = tippers.firstTipper(s);
+    assert $ != null;
+    return $.tip(s);
   }
 }
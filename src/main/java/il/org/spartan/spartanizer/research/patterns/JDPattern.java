@@ -12,15 +12,11 @@ import il.org.spartan.spartanizer.utils.*;
 /** @author Ori Marcovitch
  * @since 2016 */
 public class JDPattern extends JavadocMarkerNanoPattern<MethodDeclaration> {
-  static Set<UserDefinedTipper<Expression>> tippers = new HashSet<UserDefinedTipper<Expression>>() {
-    static final long serialVersionUID = 1L;
-    {
-      add(TipperFactory.tipper("$X == null", "", ""));
-      add(TipperFactory.tipper("$X != null", "", ""));
-      add(TipperFactory.tipper("null == $X", "", ""));
-      add(TipperFactory.tipper("null == $X", "", ""));
-    }
-  };
+  static final TipperIndex<Expression> tippers = new TipperIndex<Expression>()
+      .add(TipperFactory.tipper("$X == null", "", ""))
+      .add(TipperFactory.tipper("$X != null", "", ""))
+      .add(TipperFactory.tipper("null == $X", "", ""))
+      .add(TipperFactory.tipper("null == $X", "", ""));
 
   @Override protected boolean prerequisites(final MethodDeclaration d) {
     if (step.parameters(d) == null || step.parameters(d).isEmpty())
@@ -126,11 +122,6 @@ public class JDPattern extends JavadocMarkerNanoPattern<MethodDeclaration> {
 
   /** [[SuppressWarningsSpartan]] */
   static boolean nullCheckExpression(final Expression ¢) {
-    if (¢ == null)
-      return false;
-    for (final UserDefinedTipper<Expression> t : tippers)
-      if (t.canTip(¢))
-        return true;
-    return false;
+    return ¢ != null && tippers.canTip(¢);
   }
 }
\ No newline at end of file
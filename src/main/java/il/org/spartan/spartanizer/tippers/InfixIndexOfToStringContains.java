@@ -13,25 +13,15 @@ import il.org.spartan.spartanizer.tipping.*;
 /** @author Ori Marcovitch
  * @since 2016 */
 public final class InfixIndexOfToStringContains extends Tipper<InfixExpression> implements TipperCategory.Idiomatic {
-  private static final List<UserDefinedTipper<InfixExpression>> tippers = new ArrayList<>();
-
-  public InfixIndexOfToStringContains() {
-    if (tippers.size() == 4)
-      return;
-    tippers.add(TipperFactory.tipper("$X1.indexOf($X2)>= 0", "$X1.contains($X2)", "replace indexOf>= 0 with contains"));
-    tippers.add(TipperFactory.tipper("$X1.indexOf($X2) <0", "!$X1.contains($X2)", "replace indexOf <0 with !contains"));
-    tippers.add(TipperFactory.tipper("$X1.indexOf($X2) != -1", "$X1.contains($X2)", "replace indexOf != -1 with contains"));
-    tippers.add(TipperFactory.tipper("$X1.indexOf($X2) == -1", "!$X1.contains($X2)", "replace indexOf == -1 with !contains"));
-  }
+  private static final TipperIndex<InfixExpression> tippers = new TipperIndex<InfixExpression>()
+      .add(TipperFactory.tipper("$X1.indexOf($X2)>= 0", "$X1.contains($X2)", "replace indexOf>= 0 with contains"))
+      .add(TipperFactory.tipper("$X1.indexOf($X2) <0", "!$X1.contains($X2)", "replace indexOf <0 with !contains"))
+      .add(TipperFactory.tipper("$X1.indexOf($X2) != -1", "$X1.contains($X2)", "replace indexOf != -1 with contains"))
+      .add(TipperFactory.tipper("$X1.indexOf($X2) == -1", "!$X1.contains($X2)", "replace indexOf == -1 with !contains"));
 
   /** @see il.org.spartan.spartanizer.tipping.Tipper#canTip(org.eclipse.jdt.core.dom.ASTNode) */
   @Override public boolean canTip(final InfixExpression x) {
-    if (!stringOperands(x))
-      return false;
-    for (final UserDefinedTipper<InfixExpression> ¢ : tippers)
-      if (¢.canTip(x))
-        return true;
-    return false;
+    return stringOperands(x) && tippers.canTip(x);
   }
 
   /** @param x
@@ -45,17 +35,13 @@ public final class InfixIndexOfToStringContains extends Tipper<InfixExpression>
   }
 
   @Override public Tip tip(final InfixExpression x) throws TipperFailure {
-    for (final UserDefinedTipper<InfixExpression> ¢ : tippers)
-      if (¢.canTip(x))
-        return ¢.tip(x);
-    return null;
+    final UserDefinedTipper<InfixExpression> $ = tippers.firstTipper(x);
+    return $ == null ? null : $.tip(x);
   }
 
   /** @see il.org.spartan.spartanizer.tipping.Tipper#description(org.eclipse.jdt.core.dom.ASTNode) */
   @Override public String description(final InfixExpression x) {
-    for (final UserDefinedTipper<InfixExpression> ¢ : tippers)
-      if (¢.canTip(x))
-        return ¢.description(x);
-    return null;
+    final UserDefinedTipper<InfixExpression> $ = tippers.firstTipper(x);
+    return $ == null ? null : $.description(x);
   }
 }
@@ -0,0 +1,128 @@
+package il.org.spartan.plugin;
+
+import static il.org.spartan.azzert.*;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+
+/** Unit tests for {@link TipMarkers}, on a headless file, which counts the
+ * operations made on its markers
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc" }) public final class TipMarkersTest {
+  private final File file = new File();
+
+  @Test public void addedAndRemoved() throws CoreException {
+    TipMarkers.update(file.proxy, specs(spec(String.class, 1, 5), spec(Integer.class, 10, 15)));
+    file.reset();
+    TipMarkers.update(file.proxy, specs(spec(String.class, 1, 5), spec(Long.class, 20, 25)));
+    azzert.that(file.created, is(1));
+    azzert.that(file.changed, is(0));
+    azzert.that(file.deleted, is(1));
+    azzert.that(file.markers.size(), is(2));
+  }
+
+  @Test public void createdOnFirstBuild() throws CoreException {
+    TipMarkers.update(file.proxy, specs(spec(String.class, 1, 5), spec(String.class, 7, 9), spec(Integer.class, 10, 15)));
+    azzert.that(file.created, is(3));
+    azzert.that(file.changed, is(0));
+    azzert.that(file.deleted, is(0));
+  }
+
+  @Test public void moved() throws CoreException {
+    TipMarkers.update(file.proxy, specs(spec(String.class, 1, 5), spec(Integer.class, 10, 15)));
+    final IMarker $ = file.markers.get(1);
+    file.reset();
+    TipMarkers.update(file.proxy, specs(spec(String.class, 1, 5), spec(Integer.class, 12, 17)));
+    azzert.that(file.created, is(0));
+    azzert.that(file.changed, is(1));
+    azzert.that(file.deleted, is(0));
+    assert file.markers.get(1) == $;
+    azzert.that($.getAttribute(IMarker.CHAR_START), is((Object) Integer.valueOf(12)));
+  }
+
+  @Test public void unchangedIsNotTouched() throws CoreException {
+    final List<TipMarkers.Spec> ss = specs(spec(String.class, 1, 5), spec(String.class, 1, 5), spec(Integer.class, 10, 15));
+    TipMarkers.update(file.proxy, ss);
+    file.reset();
+    TipMarkers.update(file.proxy, ss);
+    azzert.that(file.created + file.changed + file.deleted, is(0));
+    azzert.that(file.markers.size(), is(3));
+  }
+
+  private static TipMarkers.Spec spec(final Class<?> tipper, final int from, final int to) {
+    return new TipMarkers.Spec(Builder.MARKER_TYPE, "Trimmer", tipper, "Tip: " + tipper.getSimpleName(), from, to, 1);
+  }
+
+  private static List<TipMarkers.Spec> specs(final TipMarkers.Spec... ¢) {
+    return Arrays.asList(¢);
+  }
+
+  /** A file, with no workspace, that counts the operations made on its
+   * markers */
+  static final class File {
+    final List<IMarker> markers = new ArrayList<>();
+    int created;
+    int changed;
+    int deleted;
+    final IFile proxy = (IFile) Proxy.newProxyInstance(IFile.class.getClassLoader(), new Class<?>[] { IFile.class }, (__, m, args) -> {
+      switch (m.getName()) {
+        case "findMarkers":
+          return markers.toArray(new IMarker[markers.size()]);
+        case "createMarker":
+          ++created;
+          return marker((String) args[0]);
+        default:
+          throw new UnsupportedOperationException(m.getName());
+      }
+    });
+
+    void reset() {
+      created = changed = deleted = 0;
+    }
+
+    IMarker marker(final String type) {
+      final Map<String, Object> attributes = new HashMap<>();
+      final boolean[] fresh = { true };
+      final IMarker $ = (IMarker) Proxy.newProxyInstance(IMarker.class.getClassLoader(), new Class<?>[] { IMarker.class }, (self, m, args) -> {
+        switch (m.getName()) {
+          case "getType":
+            return type;
+          case "getAttribute":
+            return attributes.get(args[0]);
+          case "getAttributes":
+            final String[] names = (String[]) args[0];
+            final Object[] values = new Object[names.length];
+            for (int ¢ = 0; ¢ < names.length; ++¢)
+              values[¢] = attributes.get(names[¢]);
+            return values;
+          case "setAttributes":
+            if (!fresh[0])
+              ++changed;
+            fresh[0] = false;
+            for (int ¢ = 0; ¢ < ((String[]) args[0]).length; ++¢)
+              attributes.put(((String[]) args[0])[¢], ((Object[]) args[1])[¢]);
+            return null;
+          case "delete":
+            ++deleted;
+            markers.remove(self);
+            return null;
+          case "equals":
+            return Boolean.valueOf(self == args[0]);
+          case "hashCode":
+            return Integer.valueOf(System.identityHashCode(self));
+          default:
+            throw new UnsupportedOperationException(m.getName());
+        }
+      });
+      markers.add($);
+      return $;
+    }
+  }
+}
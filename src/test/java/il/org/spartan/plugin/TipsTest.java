@@ -0,0 +1,28 @@
+package il.org.spartan.plugin;
+
+import static il.org.spartan.azzert.*;
+
+import java.util.*;
+
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+
+/** Unit tests for {@link Tips}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class TipsTest {
+  @Test public void iterationSurvivesReset() {
+    final Iterator<AbstractGUIApplicator> $ = Tips.all().iterator();
+    Tips.reset();
+    assert $.hasNext();
+    assert $.next() != null;
+  }
+
+  @Test public void resetKeepsApplicators() {
+    final Set<String> before = new HashSet<>(Tips.allRulesNames());
+    Tips.reset();
+    azzert.that(Tips.allRulesNames(), is(before));
+    assert !before.isEmpty();
+  }
+}
@@ -1,11 +1,41 @@
 package il.org.spartan.spartanizer.cmdline;
 
+import static il.org.spartan.azzert.*;
+
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
 import org.junit.*;
 
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.engine.*;
+
 /** @author Matteo Orru'
  * @since 2.6 */
 @SuppressWarnings("static-method") public class BatchSpartanizerTest {
   @Test public void test() {
     assert true;
   }
+
+  @Test public void measurementsRoundTrip() {
+    final List<BatchSpartanizer.Measurement> ms = BatchSpartanizer.measure((CompilationUnit) makeAST.COMPILATION_UNIT
+        .from("class A { int f(int a) { int b = a; return b; } }\nenum B { X; int g(int x) { int y = x; return y; } }"));
+    azzert.that(ms.size(), is(2));
+    final String s = BatchSpartanizer.Measurement.toString(ms);
+    final List<BatchSpartanizer.Measurement> $ = BatchSpartanizer.Measurement.parse(s);
+    azzert.that($.size(), is(2));
+    azzert.that($.get(1).name, is("B"));
+    azzert.that($.get(1).in, is(ms.get(1).in));
+    azzert.that($.get(1).out, is(ms.get(1).out));
+    azzert.that($.get(1).body2, is(ms.get(1).body2));
+    azzert.that(BatchSpartanizer.Measurement.toString($), is(s));
+  }
+
+  @Test public void malformedMeasurements() {
+    assert BatchSpartanizer.Measurement.parse("") == null;
+    assert BatchSpartanizer.Measurement.parse("1\nclass\tA") == null;
+    final String s = BatchSpartanizer.Measurement
+        .toString(BatchSpartanizer.measure((CompilationUnit) makeAST.COMPILATION_UNIT.from("class A { int f() { return 1; } }")));
+    assert BatchSpartanizer.Measurement.parse(s.substring(0, s.length() - 1)) == null;
+  }
 }
@@ -0,0 +1,77 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import static il.org.spartan.azzert.*;
+import static il.org.spartan.tide.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.ast.navigate.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** Unit tests for {@link Census}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class CensusTest {
+  private static final String CODE = "package a;\n" //
+      + "import java.util.*;\n" //
+      + "import static java.lang.Math.*;\n" //
+      + "/** A class */\n" //
+      + "class A {\n" //
+      + "  int a = new Object() { int g() { return 1; } }.hashCode();\n" //
+      + "  // A method\n" //
+      + "  int f(int a) {\n" //
+      + "    class B { void h() { System.out.println(a); } }\n" //
+      + "    new B().h();\n" //
+      + "    return a + 1;\n" //
+      + "  }\n" //
+      + "  abstract void k();\n" //
+      + "}\n";
+
+  @Test public void sameAsSeparateMetrics() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(CODE);
+    final Census c = Census.of(u, CODE);
+    azzert.that(c.nodes, is(count.nodes(u)));
+    azzert.that(c.body, is(metrics.bodySize(u)));
+    azzert.that(c.imports, is(count.imports(u)));
+    azzert.that(c.noImports, is(count.noimports(u)));
+    azzert.that(c.tokens, is(metrics.tokens(CODE)));
+    azzert.that(c.tide, is(clean(CODE).length()));
+    azzert.that(c.essence, is(code.essence(CODE).length()));
+    azzert.that(c.words, is(code.wc(code.essence(CODE))));
+  }
+
+  @Test public void tideAsClean() {
+    for (final String ¢ : new String[] { "", "  ", " a  b ", "a ^ b", "^ ^ b", "a ^", "^ a", "( ^ )", "a ! = b", "a ! b", "a !", "x >= y",
+        "a\t\n+\r b", "j = j ^ k" }) {
+      final Census.Tide t = new Census.Tide();
+      t.feed(¢);
+      azzert.that(¢, t.length(), is(clean(¢).length()));
+    }
+  }
+
+  @Test public void wordsAsWc() {
+    for (final String ¢ : new String[] { "", "\n\n", "a b\nc", "\u0001 a \u0001", "a \u0001 b", "int  f() {\n  return 1; // one\n}\n" }) {
+      final EssenceFilter.Words w = new EssenceFilter.Words();
+      azzert.that(¢, EssenceFilter.of(¢, w), is(code.essence(¢)));
+      azzert.that(¢, w.count(), is(code.wc(code.essence(¢))));
+    }
+  }
+
+  @Test public void astOnly() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(CODE);
+    final Census c = Census.of(u);
+    azzert.that(c.nodes, is(count.nodes(u)));
+    azzert.that(c.tokens, is(0));
+  }
+
+  @Test public void type() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(CODE);
+    final ASTNode t = (ASTNode) u.types().get(0);
+    final Census c = Census.of(t, t + "");
+    azzert.that(c.nodes, is(count.nodes(t)));
+    azzert.that(c.body, is(metrics.bodySize(t)));
+    azzert.that(c.imports, is(0));
+  }
+}
@@ -0,0 +1,46 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import static il.org.spartan.azzert.*;
+
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+
+/** Unit tests for {@link EssenceFilter}; expected values are the output of
+ * the <code>essence</code> script on the same input
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class EssenceFilterTest {
+  @Test public void comments() {
+    azzert.that(code.essence("int x = a +b;\n  foo( a , b )  \n\n/* c\n d */ y // z\nq // no newline"),
+        is("int x=a b;\nfoo(a,b)\ny\nq//no newline"));
+  }
+
+  @Test public void lineCommentInString() {
+    azzert.that(code.essence("String s = \"http://x\";\nint y;\n"), is("String s=\"http:\nint y;\n"));
+  }
+
+  @Test public void lineCommentBeforeBlockComment() {
+    azzert.that(code.essence("/* a // b */ c\nd */ e\n"), is("e\n"));
+  }
+
+  @Test public void nonOverlapping() {
+    azzert.that(code.essence("a  b\t\tc ( ( (\n"), is("a b\t\tc(( (\n"));
+  }
+
+  @Test public void unterminatedBlockComment() {
+    azzert.that(code.essence("a /* b\nc\n"), is("a/*b\nc\n"));
+  }
+
+  @Test public void empty() {
+    azzert.that(code.essence(""), is(""));
+    azzert.that(code.essence(" \t\r\n\n"), is(""));
+  }
+
+  @Test public void longComment() {
+    final StringBuilder s = new StringBuilder("int a; /*");
+    for (int ¢ = 0; ¢ < 1 << 20; ++¢)
+      s.append("* ");
+    azzert.that(code.essence(s + "*/ int b;\n"), is("int a;int b;\n"));
+  }
+}
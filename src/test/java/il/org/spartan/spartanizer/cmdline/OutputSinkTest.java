@@ -0,0 +1,82 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import static il.org.spartan.azzert.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+
+/** Unit tests for {@link OutputSink}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc" }) public final class OutputSinkTest {
+  private File directory;
+
+  @Before public void setUp() throws IOException {
+    directory = Files.createTempDirectory("sink").toFile();
+  }
+
+  @After public void tearDown() {
+    for (final File ¢ : directory.listFiles())
+      ¢.delete();
+    directory.delete();
+  }
+
+  @Test public void compressedEntriesAreSeekable() throws IOException {
+    final File f = write("after.java.gz");
+    final List<String> index = Files.readAllLines(Paths.get(f.getPath() + OutputSink.INDEX));
+    azzert.that(read(f, index.get(0)), is("class A {}\n"));
+    azzert.that(read(f, index.get(1)), is("class Ω { int π; }\n"));
+  }
+
+  @Test public void compressedOutputIsOneGzipFile() throws IOException {
+    final File f = write("after.java.gz");
+    try (Reader r = new InputStreamReader(new GZIPInputStream(new FileInputStream(f)), StandardCharsets.UTF_8)) {
+      final StringBuilder $ = new StringBuilder();
+      for (int c = r.read(); c >= 0; c = r.read())
+        $.append((char) c);
+      azzert.that($ + "", is("class A {}\nclass Ω { int π; }\n// end\n"));
+    }
+  }
+
+  @Test public void entriesAreSeekable() throws IOException {
+    final File f = write("after.java");
+    final List<String> index = Files.readAllLines(Paths.get(f.getPath() + OutputSink.INDEX));
+    azzert.that(index.size(), is(2));
+    azzert.that(index.get(0), is("0\t11\tA.java"));
+    azzert.that(read(f, index.get(1)), is("class Ω { int π; }\n"));
+  }
+
+  @Test public void plainOutput() throws IOException {
+    final File f = write("after.java");
+    azzert.that(new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8), is("class A {}\nclass Ω { int π; }\n// end\n"));
+  }
+
+  @Test public void size() throws IOException {
+    try (OutputSink $ = new OutputSink(new File(directory, "after.java"))) {
+      $.write("π");
+      azzert.that($.size(), is(2L));
+    }
+  }
+
+  private File write(final String name) throws IOException {
+    final File $ = new File(directory, name);
+    try (OutputSink s = new OutputSink($)) {
+      s.write("A.java", "class A {}\n");
+      s.write("Ω.java", "class Ω { int π; }\n");
+      s.write("// end\n");
+    }
+    return $;
+  }
+
+  private static String read(final File f, final String line) throws IOException {
+    final String[] $ = line.split("\t");
+    return OutputSink.read(f, Long.parseLong($[0]), Integer.parseInt($[1]));
+  }
+}
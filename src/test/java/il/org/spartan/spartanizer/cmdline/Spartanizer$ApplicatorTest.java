@@ -0,0 +1,130 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import static il.org.spartan.azzert.*;
+
+import java.io.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** Unit tests for {@link Spartanizer$Applicator}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc" }) public final class Spartanizer$ApplicatorTest {
+  private static final String CODE = "class A {\n" //
+      + "  int f(int a) { int b = a; return b; }\n" //
+      + "  boolean g(boolean b) { if (b == true) return true; else return false; }\n" //
+      + "  int h(int x) { int y = x + 1; int z = y * 2; if (z > 0) { return z; } return 0; }\n" //
+      + "  void i() { }\n" //
+      + "}";
+  /** Renamed parameters are spelled with a non ASCII character */
+  private static final String UTF8 = "UTF-8";
+  /** Parses made by the applicator */
+  int parses;
+
+  @Test public void inPlaceOffByDefault() {
+    final Spartanizer$Applicator a = new Spartanizer$Applicator();
+    assert !a.inPlace;
+    azzert.that(a.selected(unit()).size(), is(0));
+  }
+
+  @Test public void inPlaceSameAsPerMethod() {
+    azzert.that(afters(true), is(afters(false)));
+  }
+
+  @Test public void inPlaceChanges() {
+    final String $ = afters(true);
+    assert !$.isEmpty();
+    assert !$.equals(body(CODE.substring(CODE.indexOf('{') + 1, CODE.lastIndexOf('}'))));
+    azzert.that($, containsString("return a;"));
+    assert !$.contains("== true");
+  }
+
+  @Test public void onceParsePerPass() {
+    final Spartanizer$Applicator a = applicator(true);
+    a.go(unit());
+    azzert.that(parses, is(a.passes));
+    assert a.passes > 2;
+  }
+
+  /** Passes on the whole unit are as many as on its slowest method alone */
+  @Test public void passesOfSlowestMethod() {
+    int $ = 0;
+    for (final ASTNode ¢ : applicator(true).selected(unit())) {
+      final Spartanizer$Applicator a = applicator(true);
+      a.go((CompilationUnit) makeAST.COMPILATION_UNIT.from("class A {" + ¢ + "}"));
+      $ = Math.max($, a.passes);
+    }
+    parses = 0;
+    final Spartanizer$Applicator a = applicator(true);
+    a.go(unit());
+    azzert.that(parses, is($));
+  }
+
+  @Test public void selectsMethods() {
+    azzert.that(applicator(true).selected(unit()).size(), is(4));
+  }
+
+  /** A pass which finds a method more than the previous falls back to
+   * spartanizing each method in a tree of its own */
+  @Test public void selectionChangedPerMethod() {
+    final ByteArrayOutputStream $ = new ByteArrayOutputStream();
+    final Spartanizer$Applicator a = new Spartanizer$Applicator() {
+      @Override CompilationUnit parse(final String ¢) {
+        return super.parse(++parses != 2 ? ¢ : ¢.substring(0, ¢.lastIndexOf('}')) + "void j() { }}");
+      }
+    };
+    a.inPlace(true);
+    try {
+      a.outputs(null, new PrintStream($, true, UTF8), null);
+      a.go(unit());
+      azzert.that(body($.toString(UTF8)), is(afters(false)));
+    } catch (final UnsupportedEncodingException ¢) {
+      throw new AssertionError(¢);
+    }
+  }
+
+  /** @param inPlace JD
+   * @return the spartanized methods of {@link #CODE}, as a normalized class
+   *         body */
+  private String afters(final boolean inPlace) {
+    final ByteArrayOutputStream $ = new ByteArrayOutputStream();
+    final Spartanizer$Applicator a = applicator(inPlace);
+    try {
+      a.outputs(null, new PrintStream($, true, UTF8), null);
+      a.go(unit());
+      return body($.toString(UTF8));
+    } catch (final UnsupportedEncodingException ¢) {
+      throw new AssertionError(¢);
+    }
+  }
+
+  /** @param inPlace JD
+   * @return an applicator counting its parses, which selects methods also when
+   *         not in place */
+  private Spartanizer$Applicator applicator(final boolean inPlace) {
+    final Spartanizer$Applicator $ = new Spartanizer$Applicator() {
+      @Override boolean filter(final ASTNode ¢) {
+        return ¢ instanceof MethodDeclaration;
+      }
+
+      @Override CompilationUnit parse(final String ¢) {
+        ++parses;
+        return super.parse(¢);
+      }
+    };
+    $.inPlace(inPlace);
+    return $;
+  }
+
+  private static String body(final String declarations) {
+    return makeAST.CLASS_BODY_DECLARATIONS.from(declarations) + "";
+  }
+
+  private static CompilationUnit unit() {
+    return (CompilationUnit) makeAST.COMPILATION_UNIT.from(CODE);
+  }
+}
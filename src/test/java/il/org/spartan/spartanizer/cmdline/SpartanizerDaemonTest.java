@@ -0,0 +1,114 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import static il.org.spartan.azzert.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+
+/** Unit tests for {@link SpartanizerDaemon} and {@link SpartanizerClient}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc" }) public final class SpartanizerDaemonTest {
+  private static final String SOURCE = "class A { int f(int a) { int b = a; return b; } }";
+  private SpartanizerDaemon daemon;
+
+  @Before public void setUp() throws IOException {
+    daemon = new SpartanizerDaemon(0);
+    final Thread t = new Thread(daemon::serve);
+    t.setDaemon(true);
+    t.start();
+  }
+
+  @After public void tearDown() throws IOException {
+    daemon.close();
+  }
+
+  @Test public void fixed() throws IOException {
+    try (SpartanizerClient c = new SpartanizerClient(daemon.port())) {
+      azzert.that(c.fixed(SOURCE), is(new InteractiveSpartanizer().fixedPoint(SOURCE)));
+    }
+  }
+
+  @Test public void severalRequests() throws IOException {
+    try (SpartanizerClient c = new SpartanizerClient(daemon.port())) {
+      c.ping();
+      azzert.that(c.fixed(SOURCE), is(c.fixed(SOURCE)));
+      azzert.that(c.fixed("class A { String s = \"שלום\"; }"), containsString("שלום"));
+    }
+  }
+
+  @Test public void tips() throws IOException {
+    try (SpartanizerClient c = new SpartanizerClient(daemon.port())) {
+      azzert.that(c.tips(SOURCE), startsWith("1\t"));
+      azzert.that(c.tips("class A {}"), is(""));
+    }
+  }
+
+  @Test public void unknownCommand() throws IOException {
+    try (SpartanizerClient c = new SpartanizerClient(daemon.port())) {
+      c.request("FOO", "");
+      assert false : "Unknown command served";
+    } catch (final IOException x) {
+      azzert.that(x.getMessage(), containsString("FOO"));
+    }
+  }
+
+  @Test public void unauthenticated() throws IOException {
+    try (Socket s = new Socket(InetAddress.getLoopbackAddress(), daemon.port())) {
+      SpartanizerDaemon.write(s.getOutputStream(), "FIX", SOURCE);
+      azzert.that(SpartanizerDaemon.readLine(s.getInputStream()), startsWith("ERROR"));
+    }
+  }
+
+  @Test public void wrongToken() {
+    try (SpartanizerClient c = new SpartanizerClient(daemon.port(), "0123")) {
+      assert false : "Daemon accepted a wrong token";
+    } catch (final IOException x) {
+      azzert.that(x.getMessage(), containsString("port"));
+    }
+  }
+
+  @Test public void tokenFileOwnerOnly() throws IOException {
+    final Path p = SpartanizerDaemon.tokenFile(daemon.port()).toPath();
+    azzert.that(PosixFilePermissions.toString(Files.getPosixFilePermissions(p)), is("rw-------"));
+  }
+
+  @Test public void negativeSize() throws IOException {
+    assertMalformed("FIX -1\n");
+  }
+
+  @Test public void oversize() throws IOException {
+    assertMalformed("FIX " + (SpartanizerDaemon.MAX_BYTES + 1) + "\n");
+  }
+
+  private void assertMalformed(final String header) throws IOException {
+    try (Socket s = new Socket(InetAddress.getLoopbackAddress(), daemon.port())) {
+      s.getOutputStream().write(header.getBytes(StandardCharsets.UTF_8));
+      final InputStream in = s.getInputStream();
+      final String response = SpartanizerDaemon.readLine(in);
+      azzert.that(response, startsWith("ERROR"));
+      SpartanizerDaemon.read(in, SpartanizerDaemon.bytes(response.split(" ")));
+      assert SpartanizerDaemon.readLine(in) == null : "Connection still open";
+    }
+  }
+
+  @Test public void stop() throws IOException, InterruptedException {
+    try (SpartanizerClient c = new SpartanizerClient(daemon.port())) {
+      c.stop();
+    }
+    for (int ¢ = 0; ¢ < 100; ++¢)
+      try (SpartanizerClient c = new SpartanizerClient(daemon.port())) {
+        Thread.sleep(10);
+      } catch (final IOException x) {
+        return;
+      }
+    assert false : "Daemon still accepts connections";
+  }
+}
@@ -0,0 +1,73 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import static il.org.spartan.azzert.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.dispatch.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** Unit tests for {@link StreamingSpartanizer}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class StreamingSpartanizerTest {
+  private static final String HEADER = "package a.b;\nimport java.util.*;\nimport static java.lang.Math.*;\n";
+  private static final String TYPES = "/** First */\n" //
+      + "@SuppressWarnings({ \"x\", \"y\" }) class A { int f(int a) { int b = a; return b; } }\n" //
+      + "interface B { default boolean g(boolean b) { return b == true; } };\n" //
+      + "enum C { X, Y; int h() { if (this == X) return 1; else return 2; } }\n" //
+      + "// Trailing comment\n";
+
+  private static String streamed(final String s) throws IOException {
+    final StringWriter $ = new StringWriter();
+    new StreamingSpartanizer(new Trimmer()).fire(s.toCharArray(), $);
+    return $ + "";
+  }
+
+  @Test public void types() {
+    final int[] ends = StreamingSpartanizer.types((HEADER + TYPES).toCharArray());
+    azzert.that(ends.length, is(4));
+    azzert.that(ends[0], is(HEADER.trim().length()));
+    azzert.that((HEADER + TYPES).substring(ends[0], ends[1]), endsWith("return b; } }"));
+    azzert.that((HEADER + TYPES).substring(ends[1], ends[2]), startsWith("\ninterface B"));
+    azzert.that((HEADER + TYPES).substring(ends[2], ends[3]), startsWith(";\nenum C"));
+  }
+
+  @Test public void noTypes() {
+    azzert.that(StreamingSpartanizer.types(HEADER.toCharArray()).length, is(1));
+  }
+
+  @Test public void unbalanced() {
+    azzert.that(StreamingSpartanizer.types("class A { void f() {}".toCharArray()).length, is(1));
+  }
+
+  @Test public void sameAsFixed() throws IOException {
+    azzert.that(streamed(HEADER + TYPES), is(new Trimmer().fixed(HEADER + TYPES)));
+  }
+
+  @Test public void sameAsFixedWithoutHeader() throws IOException {
+    azzert.that(streamed(TYPES), is(new Trimmer().fixed(TYPES)));
+  }
+
+  @Test public void chars() throws IOException {
+    final File f = File.createTempFile("streaming", ".java");
+    f.deleteOnExit();
+    Files.write(f.toPath(), (HEADER + TYPES).getBytes(Charset.defaultCharset()));
+    azzert.that(new String(makeAST.chars(f)), is(HEADER + TYPES));
+    final StringWriter w = new StringWriter();
+    new StreamingSpartanizer(new Trimmer()).fire(f, w);
+    azzert.that(w + "", is(new Trimmer().fixed(HEADER + TYPES)));
+  }
+
+  @Test public void string() throws IOException {
+    final File f = File.createTempFile("streaming", ".txt");
+    f.deleteOnExit();
+    Files.write(f.toPath(), "first\nsecond\n".getBytes(Charset.defaultCharset()));
+    azzert.that(makeAST.string(f), is("first" + System.lineSeparator() + "second" + System.lineSeparator()));
+  }
+}
@@ -0,0 +1,118 @@
+package il.org.spartan.spartanizer.cmdline;
+
+import static il.org.spartan.azzert.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.dispatch.*;
+
+/** Unit tests for {@link TipCache}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc" }) public final class TipCacheTest {
+  private static final String SOURCE = "class A { int f(int a) { int b = a; return b; } }";
+  private File directory;
+
+  @Before public void setUp() throws IOException {
+    directory = Files.createTempDirectory("tips").toFile();
+  }
+
+  @After public void tearDown() {
+    delete(directory);
+  }
+
+  private static void delete(final File f) {
+    if (f.isDirectory())
+      for (final File ¢ : f.listFiles())
+        delete(¢);
+    f.delete();
+  }
+
+  @Test public void entryRoundTrip() {
+    final TipCache.Entry e = TipCache.Entry.parse("2\n1\tfirst\n3\tsecond\nclass A {}\n");
+    azzert.that(e.tips.size(), is(2));
+    azzert.that(e.tips.get(1), is("3\tsecond"));
+    azzert.that(e.output, is("class A {}\n"));
+    azzert.that(TipCache.Entry.parse(e + "") + "", is(e + ""));
+  }
+
+  @Test public void missThenHit() {
+    final InteractiveSpartanizer s = new InteractiveSpartanizer();
+    final TipCache c = new TipCache(directory, s.toolbox, 1 << 20);
+    assert c.get(SOURCE) == null;
+    final TipCache.Entry e = c.of(SOURCE, s);
+    azzert.that(e.output, is(s.fixedPoint(SOURCE)));
+    assert !e.tips.isEmpty();
+    azzert.that(c.of(SOURCE, s) + "", is(e + ""));
+    azzert.that(c.hits(), is(1));
+    azzert.that(c.misses(), is(2));
+  }
+
+  @Test public void survivesReopening() {
+    final InteractiveSpartanizer s = new InteractiveSpartanizer();
+    final String output = new TipCache(directory, s.toolbox, 1 << 20).of(SOURCE, s).output;
+    final TipCache c = new TipCache(directory, s.toolbox, 1 << 20);
+    assert c.get(SOURCE) != null;
+    azzert.that(c.get(SOURCE).output, is(output));
+  }
+
+  @Test public void invalidatedByOtherTippers() {
+    final InteractiveSpartanizer s = new InteractiveSpartanizer();
+    new TipCache(directory, s.toolbox, 1 << 20).of(SOURCE, s);
+    final Toolbox t = Toolbox.freshCopyOfAllTippers();
+    t.disable(Nominal.class);
+    final TipCache c = new TipCache(directory, t, 1 << 20);
+    assert c.get(SOURCE) == null;
+    azzert.that(c.bytes(), is(0L));
+  }
+
+  @Test public void otherTippersDoNotClear() {
+    final InteractiveSpartanizer s = new InteractiveSpartanizer();
+    new TipCache(directory, s.toolbox, 1 << 20).of(SOURCE, s);
+    final Toolbox t = Toolbox.freshCopyOfAllTippers();
+    t.disable(Nominal.class);
+    new TipCache(directory, t, 1 << 20).of(SOURCE, s);
+    assert new TipCache(directory, s.toolbox, 1 << 20).get(SOURCE) != null;
+  }
+
+  @Test public void corruptEntryIsAMiss() throws IOException {
+    final InteractiveSpartanizer s = new InteractiveSpartanizer();
+    final TipCache c = new TipCache(directory, s.toolbox, 1 << 20);
+    c.of(SOURCE, s);
+    final File[] fs = directory.listFiles()[0].listFiles();
+    azzert.that(fs.length, is(1));
+    Files.write(fs[0].toPath(), "3\n1\tfirst".getBytes());
+    assert c.get(SOURCE) == null;
+    assert !fs[0].exists();
+    azzert.that(c.misses(), is(2));
+  }
+
+  @Test public void malformedEntries() {
+    assert TipCache.Entry.parse("") == null;
+    assert TipCache.Entry.parse("x\nclass A {}") == null;
+    assert TipCache.Entry.parse("2\n1\tfirst") == null;
+  }
+
+  @Test public void textMissThenHit() {
+    final TipCache c = new TipCache(directory, Toolbox.freshCopyOfAllTippers(), 1 << 20);
+    assert c.text(SOURCE) == null;
+    c.put(SOURCE, "measured");
+    azzert.that(c.text(SOURCE), is("measured"));
+    azzert.that(c.hits(), is(1));
+    azzert.that(c.misses(), is(1));
+    assert c.get(SOURCE) == null;
+  }
+
+  @Test public void evictsWhenFull() {
+    final TipCache c = new TipCache(directory, Toolbox.freshCopyOfAllTippers(), 100);
+    for (int ¢ = 0; ¢ < 10; ++¢)
+      c.put("class A" + ¢ + " {}", "class A" + ¢ + " {}", new ArrayList<>());
+    assert c.bytes() <= 100;
+    assert c.bytes() > 0;
+  }
+}
@@ -0,0 +1,106 @@
+package il.org.spartan.spartanizer.dispatch;
+
+import static il.org.spartan.azzert.*;
+
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** Unit tests for {@link DisabledRanges} and {@link disabling}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class DisabledRangesTest {
+  private static final String CODE = "class A {\n" //
+      + "  int a = 1 + 2;\n" //
+      + "  /** [[SuppressWarningsSpartan]] */ class B {\n" //
+      + "    int b = 1 + 2;\n" //
+      + "    /** [[EnableWarningsSpartan]] */ int f() {\n" //
+      + "      return 1 + 2;\n" //
+      + "    }\n" //
+      + "    int c = 1 + 2;\n" //
+      + "  }\n" //
+      + "}";
+
+  private static List<InfixExpression> infixes(final ASTNode n) {
+    final List<InfixExpression> $ = new ArrayList<>();
+    n.accept(new ASTVisitor() {
+      @Override public boolean visit(final InfixExpression ¢) {
+        $.add(¢);
+        return true;
+      }
+    });
+    return $;
+  }
+
+  @Test public void nested() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(CODE);
+    disabling.scan(u);
+    final List<InfixExpression> xs = infixes(u);
+    azzert.that(xs.size(), is(4));
+    assert !disabling.on(xs.get(0));
+    assert disabling.on(xs.get(1));
+    assert !disabling.on(xs.get(2));
+    assert disabling.on(xs.get(3));
+    azzert.that(DisabledRanges.of(u).size(), is(2));
+  }
+
+  @Test public void none() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from("class A { /** Nothing */ int a = 1 + 2; }");
+    disabling.scan(u);
+    azzert.that(DisabledRanges.of(u).size(), is(0));
+    for (final InfixExpression ¢ : infixes(u))
+      assert !disabling.on(¢);
+  }
+
+  @Test public void computedOnce() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(CODE);
+    disabling.scan(u);
+    final DisabledRanges $ = DisabledRanges.of(u);
+    disabling.scan(u);
+    assert DisabledRanges.of(u) == $;
+  }
+
+  @Test public void withoutCommentList() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(CODE);
+    final TypeDeclaration t = (TypeDeclaration) ASTNode.copySubtree(AST.newAST(AST.JLS8), (ASTNode) u.types().get(0));
+    disabling.scan(t);
+    final List<InfixExpression> xs = infixes(t);
+    assert !disabling.on(xs.get(0));
+  }
+
+  @Test public void siblingScannedLast() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT
+        .from("class A { int a = 1 + 2; }\nclass B { /** [[SuppressWarningsSpartan]] */ int b = 1 + 2; }");
+    final ASTNode a = (ASTNode) u.types().get(0), b = (ASTNode) u.types().get(1);
+    disabling.scan(b);
+    disabling.scan(a);
+    assert !disabling.on(infixes(a).get(0));
+    assert disabling.on(infixes(b).get(0));
+  }
+
+  @Test public void subtreeScannedInItsTree() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(CODE);
+    final TypeDeclaration b = ((TypeDeclaration) u.types().get(0)).getTypes()[0];
+    disabling.scan(b.getFields()[0]);
+    assert DisabledRanges.of(u) == DisabledRanges.of(b);
+    assert disabling.on(infixes(b).get(0));
+    assert !disabling.on(infixes(u).get(0));
+  }
+
+  @Test public void recomputedAfterChange() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from(CODE);
+    disabling.scan(u);
+    final DisabledRanges $ = DisabledRanges.of(u);
+    ((TypeDeclaration) u.types().get(0)).setName(u.getAST().newSimpleName("Z"));
+    disabling.scan(u);
+    assert DisabledRanges.of(u) != $;
+  }
+
+  @Test public void notScanned() {
+    assert !disabling.on(into.e("a + b"));
+  }
+}
@@ -0,0 +1,118 @@
+package il.org.spartan.spartanizer.dispatch;
+
+import static il.org.spartan.azzert.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.ast.factory.*;
+import il.org.spartan.spartanizer.ast.navigate.*;
+import il.org.spartan.spartanizer.engine.*;
+import il.org.spartan.utils.*;
+
+/** Unit tests for {@link ExclusionManager}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc" }) public final class ExclusionManagerTest {
+  private final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT
+      .from("class A { void f() { int a = 1; g(a); } void h(String s) { if (s == null) return; } }");
+  private final MethodDeclaration f = findFirst.methodDeclaration(u);
+  private final IfStatement ifStatement = findFirst.ifStatement(u);
+  private final ExclusionManager it = new ExclusionManager();
+
+  @Test public void emptyExcludesNothing() {
+    assert !it.isExcluded(u);
+    assert !it.isExcluded(f);
+  }
+
+  @Test public void excludesItself() {
+    it.exclude(f);
+    assert it.isExcluded(f);
+  }
+
+  @Test public void excludesDescendants() {
+    it.exclude(f);
+    assert it.isExcluded(f.getBody());
+    assert it.isExcluded(findFirst.variableDeclarationFragment(f));
+  }
+
+  @Test public void doesNotExcludeAncestors() {
+    it.exclude(f.getBody());
+    assert !it.isExcluded(f);
+    assert !it.isExcluded(u);
+  }
+
+  @Test public void doesNotExcludeSiblings() {
+    it.exclude(f);
+    assert !it.isExcluded(ifStatement);
+  }
+
+  @Test public void parentOfSameRangeIsNotExcluded() {
+    final SingleVariableDeclaration d = (SingleVariableDeclaration) ((TypeDeclaration) u.types().get(0)).getMethods()[1].parameters().get(0);
+    final SimpleType t = (SimpleType) d.getType();
+    it.exclude(t.getName());
+    azzert.that(t.getStartPosition(), is(t.getName().getStartPosition()));
+    azzert.that(t.getLength(), is(t.getName().getLength()));
+    assert it.isExcluded(t.getName());
+    assert !it.isExcluded(t);
+    it.exclude(t);
+    assert it.isExcluded(t);
+    assert it.isExcluded(t.getName());
+  }
+
+  @Test public void outerExclusionSubsumesInner() {
+    it.exclude(ifStatement.getThenStatement());
+    it.exclude(ifStatement);
+    assert it.isExcluded(ifStatement.getExpression());
+    assert it.isExcluded(ifStatement.getThenStatement());
+  }
+
+  @Test public void severalDisjoint() {
+    it.exclude(ifStatement);
+    it.exclude(findFirst.variableDeclarationFragment(f));
+    assert it.isExcluded(ifStatement.getExpression());
+    assert it.isExcluded(findFirst.variableDeclarationFragment(f).getInitializer());
+    assert !it.isExcluded(f.getBody());
+  }
+
+  @Test public void unExclude() {
+    it.exclude(ifStatement);
+    it.unExclude(ifStatement);
+    assert !it.isExcluded(ifStatement.getExpression());
+  }
+
+  @Test public void copyExcludesOnlyItself() {
+    final IfStatement copy = duplicate.of(ifStatement);
+    it.exclude(copy);
+    assert it.isExcluded(copy.getExpression());
+    assert !it.isExcluded(ifStatement);
+    assert !it.isExcluded(ifStatement.getExpression());
+    assert !it.isExcluded(ifStatement.getThenStatement());
+  }
+
+  @Test public void originalDoesNotExcludeCopy() {
+    final IfStatement copy = duplicate.of(ifStatement);
+    it.exclude(ifStatement);
+    assert it.isExcluded(ifStatement.getExpression());
+    assert !it.isExcluded(copy);
+    assert !it.isExcluded(copy.getExpression());
+  }
+
+  @Test public void copyOverlapsNothing() {
+    it.exclude(duplicate.of(ifStatement));
+    assert !it.overlapping(new Range(0, u.getLength()));
+    it.exclude(f.getBody());
+    assert it.overlapping(new Range(f.getStartPosition(), f.getStartPosition() + f.getLength()));
+    assert !it.overlapping(new Range(ifStatement.getStartPosition(), ifStatement.getStartPosition() + ifStatement.getLength()));
+  }
+
+  @Test @SuppressWarnings("unchecked") public void newNodeInsideExcludedSubtree() {
+    final Block b = f.getBody();
+    final ExpressionStatement s = u.getAST().newExpressionStatement(u.getAST().newSimpleName("x"));
+    b.statements().add(s);
+    it.exclude(b);
+    assert it.isExcluded(s.getExpression());
+    assert !it.isExcluded(ifStatement);
+  }
+}
@@ -0,0 +1,42 @@
+package il.org.spartan.spartanizer.dispatch;
+
+import static il.org.spartan.azzert.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.engine.*;
+
+/** Unit tests for {@link NodeData}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class NodeDataTest {
+  private final Expression e = into.e("a + b");
+
+  @Test public void empty() {
+    assert !NodeData.has(e, NodeData.Key.DISABLED);
+    azzert.isNull(NodeData.get(e, NodeData.Key.TYPE));
+    azzert.that(e.properties().size(), is(0));
+  }
+
+  @Test public void flag() {
+    NodeData.set(e, NodeData.Key.DISABLED);
+    assert NodeData.has(e, NodeData.Key.DISABLED);
+    assert !NodeData.has(e, NodeData.Key.TYPE);
+    NodeData.unset(e, NodeData.Key.DISABLED);
+    assert !NodeData.has(e, NodeData.Key.DISABLED);
+  }
+
+  @Test public void singleProperty() {
+    NodeData.set(e, NodeData.Key.DISABLED);
+    azzert.that(NodeData.set(e, NodeData.Key.TYPE, "int"), is("int"));
+    azzert.that(NodeData.<String> get(e, NodeData.Key.TYPE), is("int"));
+    azzert.that(e.properties().size(), is(1));
+  }
+
+  @Test public void nullNode() {
+    azzert.isNull(NodeData.set(null, NodeData.Key.TYPE, "int"));
+    assert !NodeData.has(null, NodeData.Key.TYPE);
+  }
+}
@@ -0,0 +1,70 @@
+package il.org.spartan.spartanizer.dispatch;
+
+import static il.org.spartan.azzert.*;
+
+import java.lang.management.*;
+
+import javax.management.*;
+
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.tippers.*;
+
+/** Unit tests for {@link TipperStatistics}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class TipperStatisticsTest {
+  @Before public void setUp() {
+    TipperStatistics.instance.setActive(true);
+    TipperStatistics.instance.reset();
+  }
+
+  @After public void tearDown() {
+    TipperStatistics.instance.setActive(true);
+  }
+
+  @Test public void countsFixed() {
+    new Trimmer().fixed("class A { boolean f(boolean b) { return b == true; } }");
+    assert TipperStatistics.instance.getCanTipCalls() > 0;
+    assert TipperStatistics.instance.getCanTipHits() > 0;
+    assert TipperStatistics.instance.getTips() >= TipperStatistics.instance.getRewrites();
+    assert TipperStatistics.instance.getRewrites() > 0;
+    final TipperStatistics.Counters c = TipperStatistics.of(InfixComparisonBooleanLiteral.class);
+    azzert.that(c.rewrites.sum(), is(1L));
+    assert c.canTipHits.sum() >= 1;
+    assert c.nanos.sum() > 0;
+  }
+
+  @Test public void inactiveCountsNothing() {
+    TipperStatistics.instance.setActive(false);
+    new Trimmer().fixed("class A { boolean f(boolean b) { return b == true; } }");
+    azzert.that(TipperStatistics.instance.getCanTipCalls(), is(0L));
+    azzert.that(TipperStatistics.instance.getRewrites(), is(0L));
+  }
+
+  @Test public void histogramBuckets() {
+    final TipperStatistics.Counters c = TipperStatistics.of(Object.class);
+    c.record(0);
+    c.record(1);
+    c.record(3);
+    c.record(Long.MAX_VALUE);
+    azzert.that(c.histogram.get(0), is(1L));
+    azzert.that(c.histogram.get(1), is(1L));
+    azzert.that(c.histogram.get(2), is(1L));
+    azzert.that(c.histogram.get(TipperStatistics.BUCKETS - 1), is(1L));
+    azzert.that(c.tips.sum(), is(4L));
+  }
+
+  @Test public void csvAndJSON() {
+    TipperStatistics.of(Object.class).record(3);
+    azzert.that(TipperStatistics.instance.getCSV(), containsString("\nObject,0,0,1,0,0,3,2:1\n"));
+    azzert.that(TipperStatistics.instance.getJSON(), containsString("\"tipper\": \"java.lang.Object\""));
+    azzert.that(TipperStatistics.instance.getJSON(), containsString("\"histogram\": [0, 0, 1]"));
+  }
+
+  @Test public void registered() throws JMException {
+    assert TipperStatistics.instance != null;
+    azzert.that(ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(TipperStatistics.NAME), "Active"), is((Object) Boolean.TRUE));
+  }
+}
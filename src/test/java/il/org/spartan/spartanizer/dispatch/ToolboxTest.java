@@ -0,0 +1,62 @@
+package il.org.spartan.spartanizer.dispatch;
+
+import static il.org.spartan.azzert.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.cmdline.*;
+import il.org.spartan.spartanizer.tippers.*;
+import il.org.spartan.spartanizer.dispatch.TipperCategory.*;
+
+/** Unit tests for the snapshots of {@link Toolbox}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class ToolboxTest {
+  @Test public void copyIsMuttable() {
+    final Toolbox $ = Toolbox.defaultInstance().muttableCopy();
+    assert !$.isSnapshot();
+    azzert.that($.fingerprint(), is(Toolbox.defaultInstance().fingerprint()));
+    $.add(ThrowStatement.class, new ThrowNotLastInBlock());
+    azzert.that($.tippersCount(), is(Toolbox.defaultInstance().tippersCount() + 1));
+  }
+
+  @Test public void disablingDoesNotChangeSnapshot() {
+    final int $ = Toolbox.defaultInstance().tippersCount();
+    new InteractiveSpartanizer().disable(Centification.class);
+    azzert.that(Toolbox.defaultInstance().tippersCount(), is($));
+  }
+
+  @Test public void refreshKeepsSnapshot() {
+    final Toolbox $ = Toolbox.defaultInstance();
+    Toolbox.refresh();
+    assert Toolbox.defaultInstance() == $;
+    assert $.isSnapshot();
+    assert $.version() > 0;
+  }
+
+  @Test(expected = UnsupportedOperationException.class) public void snapshotIsImmutable() {
+    Toolbox.defaultInstance().disable(Centification.class);
+  }
+
+  @Test public void threadInstanceOfEachThread() throws InterruptedException {
+    final Toolbox $ = Toolbox.threadInstance();
+    assert Toolbox.threadInstance() == $;
+    assert $.isSnapshot();
+    azzert.that($.fingerprint(), is(Toolbox.defaultInstance().fingerprint()));
+    final Toolbox[] other = { null };
+    final Thread t = new Thread(() -> other[0] = Toolbox.threadInstance());
+    t.start();
+    t.join();
+    assert other[0] != $;
+    azzert.that(other[0].fingerprint(), is($.fingerprint()));
+    assert other[0].get(ASTNode.INFIX_EXPRESSION).get(0) != $.get(ASTNode.INFIX_EXPRESSION).get(0);
+  }
+
+  @Test public void trimmerSharesSnapshot() {
+    final Trimmer $ = new Trimmer();
+    Toolbox.refresh($);
+    assert $.toolbox == Toolbox.defaultInstance();
+  }
+}
@@ -0,0 +1,166 @@
+package il.org.spartan.spartanizer.dispatch;
+
+import static il.org.spartan.azzert.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.tipping.*;
+
+/** Unit tests for {@link Trimmer#fixedIncrementally(String)}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class TrimmerFixedIncrementallyTest {
+  private static void sameAsFixed(final String from) {
+    azzert.that(new Trimmer().fixedIncrementally(from), is(new Trimmer().fixed(from)));
+  }
+
+  @Test public void emptyClass() {
+    sameAsFixed("class A {}");
+  }
+
+  @Test public void nothingToDo() {
+    sameAsFixed("class A { int f() { return 1; } }");
+  }
+
+  @Test public void singleMethod() {
+    sameAsFixed("class A { int f(int a) { int b = a; if (b == 0) return 2; else return 3; } }");
+  }
+
+  @Test public void severalMethods() {
+    sameAsFixed("class A {\n" //
+        + "  int f() { return 1; }\n" //
+        + "  int g(int x) { int y = x + 0; return y; }\n" //
+        + "  void h() { if (a) { f(); } else { f(); } }\n" //
+        + "  boolean k(boolean b) { return b == true; }\n" //
+        + "}");
+  }
+
+  @Test public void nestedClass() {
+    sameAsFixed("class A {\n" //
+        + "  int f() { return 1; }\n" //
+        + "  class B { int g(int x) { int y = x; return y * 1; } }\n" //
+        + "}");
+  }
+
+  @Test public void disabledMethod() {
+    sameAsFixed("class A {\n" //
+        + "  /** [[SuppressWarningsSpartan]] */ int f(int x) { int y = x; return y; }\n" //
+        + "  int g(int x) { int y = x; return y; }\n" //
+        + "}");
+  }
+
+  /** A tip in a clean method, made possible by a change of a field of its
+   * class, is not missed */
+  @Test public void siblingChanged() {
+    final Toolbox b = Toolbox.emptyToolboox().add(VariableDeclarationFragment.class, new RenameY()).add(ReturnStatement.class, new ReturnZeroIfX());
+    final String from = "class A { int y; int f() { return 1; } }";
+    azzert.that(new Trimmer(b).fixed(from), is("class A { int x; int f() { return 0; } }"));
+    azzert.that(new Trimmer(b).fixedIncrementally(from), is(new Trimmer(b).fixed(from)));
+  }
+
+  /** A tip in a clean method, made possible by a change of the body of a
+   * sibling method, is not missed */
+  @Test public void siblingMethodChanged() {
+    final Toolbox b = Toolbox.emptyToolboox().add(ReturnStatement.class, new ReturnNothingForOne(), new ReturnThreeIfBare());
+    final String from = "class A { void f() { return 1; } int g() { return 2; } }";
+    azzert.that(new Trimmer(b).fixed(from), is("class A { void f() { return; } int g() { return 3; } }"));
+    azzert.that(new Trimmer(b).fixedIncrementally(from), is(new Trimmer(b).fixed(from)));
+  }
+
+  /** A tip in a clean type, made possible by a change of another type of the
+   * same file, is not missed */
+  @Test public void otherTypeChanged() {
+    final Toolbox b = Toolbox.emptyToolboox().add(ReturnStatement.class, new ReturnNothingForOne(), new ReturnThreeIfBare());
+    final String from = "class A { void f() { return 1; } } class B { int g() { return 2; } }";
+    azzert.that(new Trimmer(b).fixed(from), is("class A { void f() { return; } } class B { int g() { return 3; } }"));
+    azzert.that(new Trimmer(b).fixedIncrementally(from), is(new Trimmer(b).fixed(from)));
+  }
+
+  /** Replaces <code>return 1</code> by <code>return</code> */
+  static final class ReturnNothingForOne extends ReplaceCurrentNode<ReturnStatement> implements TipperCategory.Nanos {
+    @Override protected boolean prerequisite(final ReturnStatement ¢) {
+      return "1".equals(¢.getExpression() + "");
+    }
+
+    @Override public ASTNode replacement(final ReturnStatement ¢) {
+      return ¢.getAST().newReturnStatement();
+    }
+
+    @Override public String description(@SuppressWarnings("unused") final ReturnStatement __) {
+      return "Return nothing";
+    }
+  }
+
+  /** Replaces <code>return 2</code> by <code>return 3</code>, in a file with
+   * a <code>return</code> of nothing */
+  static final class ReturnThreeIfBare extends ReplaceCurrentNode<ReturnStatement> implements TipperCategory.Nanos {
+    @Override protected boolean prerequisite(final ReturnStatement s) {
+      if (!"2".equals(s.getExpression() + ""))
+        return false;
+      final boolean[] $ = { false };
+      s.getRoot().accept(new ASTVisitor() {
+        @Override public boolean visit(final ReturnStatement ¢) {
+          $[0] |= ¢.getExpression() == null;
+          return false;
+        }
+      });
+      return $[0];
+    }
+
+    @Override public ASTNode replacement(final ReturnStatement ¢) {
+      final ReturnStatement $ = ¢.getAST().newReturnStatement();
+      $.setExpression(¢.getAST().newNumberLiteral("3"));
+      return $;
+    }
+
+    @Override public String description(@SuppressWarnings("unused") final ReturnStatement __) {
+      return "Return three";
+    }
+  }
+
+  /** Renames a field named y to x */
+  static final class RenameY extends ReplaceCurrentNode<VariableDeclarationFragment> implements TipperCategory.Nanos {
+    @Override protected boolean prerequisite(final VariableDeclarationFragment ¢) {
+      return ¢.getParent() instanceof FieldDeclaration && "y".equals(¢.getName().getIdentifier());
+    }
+
+    @Override public ASTNode replacement(final VariableDeclarationFragment ¢) {
+      final VariableDeclarationFragment $ = ¢.getAST().newVariableDeclarationFragment();
+      $.setName(¢.getAST().newSimpleName("x"));
+      return $;
+    }
+
+    @Override public String description(@SuppressWarnings("unused") final VariableDeclarationFragment __) {
+      return "Rename y to x";
+    }
+  }
+
+  /** Replaces <code>return 1</code> by <code>return 0</code>, in a class with
+   * a field named x */
+  static final class ReturnZeroIfX extends ReplaceCurrentNode<ReturnStatement> implements TipperCategory.Nanos {
+    @Override protected boolean prerequisite(final ReturnStatement ¢) {
+      if (!"1".equals(¢.getExpression() + ""))
+        return false;
+      ASTNode t = ¢;
+      while (!(t instanceof TypeDeclaration))
+        t = t.getParent();
+      for (final FieldDeclaration f : ((TypeDeclaration) t).getFields())
+        for (final Object o : f.fragments())
+          if ("x".equals(((VariableDeclarationFragment) o).getName().getIdentifier()))
+            return true;
+      return false;
+    }
+
+    @Override public ASTNode replacement(final ReturnStatement ¢) {
+      final ReturnStatement $ = ¢.getAST().newReturnStatement();
+      $.setExpression(¢.getAST().newNumberLiteral("0"));
+      return $;
+    }
+
+    @Override public String description(@SuppressWarnings("unused") final ReturnStatement __) {
+      return "Return zero";
+    }
+  }
+}
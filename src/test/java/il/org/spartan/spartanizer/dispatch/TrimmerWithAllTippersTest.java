@@ -0,0 +1,119 @@
+package il.org.spartan.spartanizer.dispatch;
+
+import static il.org.spartan.azzert.*;
+
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.eclipse.jdt.core.dom.rewrite.*;
+import org.eclipse.text.edits.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.engine.*;
+import il.org.spartan.spartanizer.tipping.*;
+
+/** Unit tests for {@link Trimmer#fixedWithAllTippers(String)} and
+ * {@link Trimmer#collectAllTips(CompilationUnit)}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class TrimmerWithAllTippersTest {
+  private static void sameAsFixed(final String from) {
+    azzert.that(new Trimmer().fixedWithAllTippers(from), is(new Trimmer().fixed(from)));
+  }
+
+  @Test public void nothingToDo() {
+    sameAsFixed("class A { int f() { return 1; } }");
+  }
+
+  @Test public void singleMethod() {
+    sameAsFixed("class A { int f(int a) { int b = a; if (b == 0) return 2; else return 3; } }");
+  }
+
+  @Test public void severalMethods() {
+    sameAsFixed("class A {\n" //
+        + "  int f() { return 1; }\n" //
+        + "  int g(int x) { int y = x + 0; return y; }\n" //
+        + "  void h() { if (a) { f(); } else { f(); } }\n" //
+        + "  boolean k(boolean b) { return b == true; }\n" //
+        + "}");
+  }
+
+  @Test public void disabledMethod() {
+    sameAsFixed("class A {\n" //
+        + "  /** [[SuppressWarningsSpartan]] */ int f(int x) { int y = x; return y; }\n" //
+        + "  int g(int x) { int y = x; return y; }\n" //
+        + "}");
+  }
+
+  @Test public void nextTipperWhenFirstMakesNoTip() {
+    final Trimmer t = new Trimmer(Toolbox.emptyToolboox().add(ReturnStatement.class, new NoTip(), new ReturnNothing()));
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from("class A { void f() { return 1; } }");
+    azzert.that(t.collectAllTips(u).size(), is(1));
+    azzert.that(t.fixed("class A { void f() { return 1; } }"), is("class A { void f() { return 1; } }"));
+    azzert.that(t.fixedWithAllTippers("class A { void f() { return 1; } }"), is("class A { void f() { return; } }"));
+  }
+
+  @Test public void nextTipperWhenFirstFails() {
+    final Trimmer t = new Trimmer(Toolbox.emptyToolboox().add(ReturnStatement.class, new Failing(), new ReturnNothing()));
+    azzert.that(t.fixed("class A { void f() { return 1; } }"), is("class A { void f() { return 1; } }"));
+    azzert.that(t.fixedWithAllTippers("class A { void f() { return 1; } }"), is("class A { void f() { return; } }"));
+  }
+
+  @Test public void nonOverlapping() {
+    final CompilationUnit u = (CompilationUnit) makeAST.COMPILATION_UNIT.from("class A { void f() { return 1; } }");
+    final ReturnStatement s = (ReturnStatement) ((TypeDeclaration) u.types().get(0)).getMethods()[0].getBody().statements().get(0);
+    final Tip outer = new ReturnNothing().tip(s), inner = new Tip("", s.getExpression(), null) {
+      @Override public void go(@SuppressWarnings("unused") final ASTRewrite __, @SuppressWarnings("unused") final TextEditGroup ___) {
+        // Nothing
+      }
+    };
+    azzert.that(Trimmer.nonOverlapping(Arrays.asList(inner, outer)).size(), is(1));
+    azzert.that(Trimmer.nonOverlapping(Arrays.asList(inner, outer)).get(0), is(inner));
+  }
+
+  /** Can tip any return statement, but makes no tip */
+  static final class NoTip extends Tipper<ReturnStatement> implements TipperCategory.Nanos {
+    @Override public boolean canTip(@SuppressWarnings("unused") final ReturnStatement __) {
+      return true;
+    }
+
+    @Override public String description(@SuppressWarnings("unused") final ReturnStatement __) {
+      return "Nothing";
+    }
+
+    @Override public Tip tip(@SuppressWarnings("unused") final ReturnStatement __) {
+      return null;
+    }
+  }
+
+  /** Can tip any return statement, but fails */
+  static final class Failing extends Tipper<ReturnStatement> implements TipperCategory.Nanos {
+    @Override public boolean canTip(@SuppressWarnings("unused") final ReturnStatement __) {
+      return true;
+    }
+
+    @Override public String description(@SuppressWarnings("unused") final ReturnStatement __) {
+      return "Failing";
+    }
+
+    @Override public Tip tip(@SuppressWarnings("unused") final ReturnStatement __) throws TipperFailure {
+      throw new TipperFailure.TipNotImplementedException();
+    }
+  }
+
+  /** Removes the value returned */
+  static final class ReturnNothing extends ReplaceCurrentNode<ReturnStatement> implements TipperCategory.Nanos {
+    @Override protected boolean prerequisite(final ReturnStatement ¢) {
+      return ¢.getExpression() != null;
+    }
+
+    @Override public ASTNode replacement(final ReturnStatement ¢) {
+      return ¢.getAST().newReturnStatement();
+    }
+
+    @Override public String description(@SuppressWarnings("unused") final ReturnStatement __) {
+      return "Return nothing";
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package il.org.spartan.spartanizer.engine;
+
+import static il.org.spartan.spartanizer.engine.into.*;
+
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+/** Unit tests for {@link DefUseIndex}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class DefUseIndexTest {
+  private final MethodDeclaration d = d("int f() { int a = 1; a += c; return a + b; }");
+
+  @Test public void mentions() {
+    final ReturnStatement s = last(d);
+    final DefUseIndex $ = DefUseIndex.of(s);
+    assert $.mentions(s, "a");
+    assert $.mentions(s, "b");
+    assert !$.mentions(s, "c");
+    assert $.mentions(d, "c");
+    assert !$.mentions(s, "x");
+  }
+
+  @Test public void perMethod() {
+    final DefUseIndex $ = DefUseIndex.of(last(d));
+    assert DefUseIndex.of(first(d)) == $;
+    assert DefUseIndex.of(d) == $;
+    assert DefUseIndex.of(d("void g() { return; }")) != $;
+  }
+
+  @Test public void rebuiltAfterChange() {
+    final ReturnStatement s = last(d);
+    final DefUseIndex $ = DefUseIndex.of(s);
+    ((SimpleName) ((InfixExpression) s.getExpression()).getRightOperand()).setIdentifier("x");
+    assert DefUseIndex.of(s) != $;
+    assert DefUseIndex.of(s).mentions(s, "x");
+    assert !DefUseIndex.of(s).mentions(s, "b");
+  }
+
+  private static Statement first(final MethodDeclaration ¢) {
+    return (Statement) ¢.getBody().statements().get(0);
+  }
+
+  private static ReturnStatement last(final MethodDeclaration ¢) {
+    final List<?> $ = ¢.getBody().statements();
+    return (ReturnStatement) $.get($.size() - 1);
+  }
+}
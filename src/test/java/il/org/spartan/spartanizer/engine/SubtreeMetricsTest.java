@@ -0,0 +1,44 @@
+package il.org.spartan.spartanizer.engine;
+
+import static il.org.spartan.azzert.*;
+import static il.org.spartan.spartanizer.engine.into.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.ast.navigate.*;
+
+/** Unit tests for {@link SubtreeMetrics}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class SubtreeMetricsTest {
+  @Test public void flattened() {
+    azzert.that(SubtreeMetrics.flattened(e("a + b * c")), is("a+b*c"));
+  }
+
+  @Test public void nodesAsCount() {
+    for (final String ¢ : new String[] { "a", "a + b * c", "f(a, b, c)", "a ? b : c + d", "new int[] {1,2,3}" }) {
+      final Expression e = e(¢);
+      azzert.that(SubtreeMetrics.nodes(e), is(count.nodes(e)));
+      azzert.that(SubtreeMetrics.nonWhiteCharacters(e), is(count.nonWhiteCharacters(e)));
+    }
+  }
+
+  @Test public void nodesOfDescendants() {
+    final InfixExpression x = i("a + b * c");
+    azzert.that(SubtreeMetrics.nodes(x), is(5));
+    azzert.that(SubtreeMetrics.nodes(x.getRightOperand()), is(3));
+    azzert.that(SubtreeMetrics.nodes(x.getLeftOperand()), is(1));
+  }
+
+  @Test @SuppressWarnings("unchecked") public void invalidatedByChange() {
+    final InfixExpression x = i("a + b");
+    azzert.that(SubtreeMetrics.nodes(x), is(3));
+    azzert.that(SubtreeMetrics.flattened(x), is("a+b"));
+    x.setRightOperand(x.getAST().newSimpleName("c"));
+    x.extendedOperands().add(x.getAST().newSimpleName("d"));
+    azzert.that(SubtreeMetrics.nodes(x), is(4));
+    azzert.that(SubtreeMetrics.flattened(x), is("a+c+d"));
+  }
+}
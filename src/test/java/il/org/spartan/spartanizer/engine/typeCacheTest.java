@@ -0,0 +1,51 @@
+package il.org.spartan.spartanizer.engine;
+
+import static il.org.spartan.azzert.*;
+import static il.org.spartan.spartanizer.engine.into.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.engine.type.Primitive.*;
+
+/** Unit tests for the memoization of {@link type#of(Expression)}
+ * @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public final class typeCacheTest {
+  @Test public void baptizedAreEqualByName() {
+    final type $ = type.baptize("Forgotten");
+    for (int ¢ = 0; ¢ < 1 << 13; ++¢)
+      type.baptize("Forgotten" + ¢);
+    final type reborn = type.baptize("Forgotten");
+    azzert.that(reborn, is($));
+    assert reborn.isCertain();
+    assert type.have("int");
+  }
+
+  @Test public void hits() {
+    final Expression e = e("1 + 2L");
+    azzert.that(type.of(e), is((type) Certain.LONG));
+    final long hits = type.hits(), misses = type.misses();
+    azzert.that(type.of(e), is((type) Certain.LONG));
+    azzert.that(type.hits(), is(hits + 1));
+    azzert.that(type.misses(), is(misses));
+  }
+
+  @Test public void invalidatedByChange() {
+    final InfixExpression x = i("a + 1");
+    azzert.that(type.of(x), is((type) Uncertain.ALPHANUMERIC));
+    x.setRightOperand(x.getAST().newStringLiteral());
+    azzert.that(type.of(x), is((type) Certain.STRING));
+  }
+
+  @Test public void precomputed() {
+    final InfixExpression x = i("2 * (2 + 3L) + (int) f()");
+    type.precompute(x);
+    final long misses = type.misses();
+    azzert.that(type.of(x), is((type) Certain.LONG));
+    azzert.that(type.of(x.getLeftOperand()), is((type) Certain.LONG));
+    azzert.that(type.of(x.getRightOperand()), is((type) Certain.INT));
+    azzert.that(type.misses(), is(misses));
+  }
+}
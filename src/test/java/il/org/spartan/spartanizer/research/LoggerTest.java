@@ -0,0 +1,56 @@
+package il.org.spartan.spartanizer.research;
+
+import static il.org.spartan.azzert.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.ast.navigate.*;
+
+/** @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public class LoggerTest {
+  private final TypeDeclaration t = (TypeDeclaration) ((CompilationUnit) wizard.ast("class A { int f() { return 1; } void g() { h(); } }")).types().get(0);
+  private final MethodDeclaration f = t.getMethods()[0];
+  private final MethodDeclaration g = t.getMethods()[1];
+
+  @Test public void methodsByIdentity() {
+    final Logger.Shard $ = Logger.open();
+    Logger.logNP(f, "X");
+    Logger.logNP(f, "Y");
+    Logger.logNP(g, "X");
+    $.close();
+    azzert.that($.methods.size(), is(2));
+    azzert.that($.methods.get(0).nps.size(), is(2));
+    azzert.that($.methods.get(1).methodName, is("g"));
+  }
+
+  @Test public void closeRestoresSequentialLogging() {
+    final Logger.Shard $ = Logger.open();
+    $.close();
+    Logger.logNP(f, "X");
+    assert $.methods.isEmpty();
+  }
+
+  @Test public void mergeInOrder() {
+    final Logger.Shard s1 = Logger.open();
+    Logger.logNP(f, "X");
+    Logger.logCompilationUnit(t);
+    s1.close();
+    final Logger.Shard s2 = Logger.open();
+    Logger.logNP(g, "Y");
+    Logger.logNP(g, "X");
+    s2.close();
+    final Logger.Shard $ = new Logger.Shard();
+    $.merge(s1);
+    $.merge(s2);
+    azzert.that($.methods.size(), is(2));
+    azzert.that($.methods.get(0).methodName, is("f"));
+    azzert.that($.methods.get(1).methodName, is("g"));
+    azzert.that($.numMethods, is(2));
+    azzert.that($.npStatistics.keySet() + "", is("[X, Y]"));
+    azzert.that($.npStatistics.get("X").occurences, is(2));
+    azzert.that($.nodesStatistics.get("MethodDeclaration").inner, is(3));
+  }
+}
@@ -0,0 +1,77 @@
+package il.org.spartan.spartanizer.research;
+
+import static il.org.spartan.azzert.*;
+
+import java.util.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.ast.navigate.*;
+import il.org.spartan.spartanizer.dispatch.*;
+
+/** @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public class MatcherTest {
+  @Test public void groundBlockMatching() {
+    azzert.that(Matcher.getBlockMatching(block("x = 1; return null;"), block("f(); x = 2; x = 1; return null; g();")) + "", is("<2,4>"));
+  }
+
+  @Test public void groundBlockNoMatching() {
+    assert Matcher.getBlockMatching(block("x = 1; return null;"), block("f(); x = 1; return x;")) == null;
+  }
+
+  @Test public void groundPattern() {
+    assert Matcher.ground(wizard.ast("a + b * 2"));
+    assert !Matcher.ground(wizard.ast("$X + b * 2"));
+  }
+
+  @Test public void sameShape() {
+    azzert.that(Matcher.shape(wizard.ast("a + b * 2")), is(Matcher.shape(wizard.ast("a + b * 2"))));
+    assert Matcher.shape(wizard.ast("a + b * 2")) != Matcher.shape(wizard.ast("a + b * 3"));
+    assert Matcher.shape(wizard.ast("a + b * 2")) != Matcher.shape(wizard.ast("a - b * 2"));
+  }
+
+  @Test public void groundMismatch() {
+    assert Matcher.matches(wizard.ast("a + b"), wizard.ast("a + b"));
+    assert !Matcher.matches(wizard.ast("a + b"), wizard.ast("a + c"));
+  }
+
+  @Test public void wildcardConsistency() {
+    assert Matcher.matches(wizard.ast("$X == $X"), wizard.ast("f(a) == f(a)"));
+    assert !Matcher.matches(wizard.ast("$X == $X"), wizard.ast("f(a) == f(b)"));
+  }
+
+  @Test public void wildcardBlockMatching() {
+    azzert.that(Matcher.getBlockMatching(block("$X = 1; return $X;"), block("x = 1; return y; y = 1; return y;")) + "", is("<2,4>"));
+  }
+
+  @Test public void textIsMemoized() {
+    final ASTNode n = wizard.ast("f(a, b)");
+    azzert.that(Matcher.text(n), is(n + ""));
+    assert Matcher.text(n) == Matcher.text(n);
+  }
+
+  @Test public void preparedPatternIsOnlyRead() {
+    final ASTNode p = Matcher.prepared(wizard.ast("$X1 != null ? $X1.f($A) : g(1)"));
+    final List<ASTNode> ns = new ArrayList<>();
+    final List<Object> datas = new ArrayList<>();
+    p.accept(new ASTVisitor(true) {
+      @Override public void preVisit(final ASTNode ¢) {
+        ns.add(¢);
+        datas.add(NodeData.get(¢, NodeData.Key.SHAPE));
+      }
+    });
+    assert Matcher.matches(p, wizard.ast("a != null ? a.f(b, c) : g(1)"));
+    assert !Matcher.matches(p, wizard.ast("a == null ? a.f() : g(1)"));
+    for (int ¢ = 0; ¢ < ns.size(); ++¢) {
+      assert datas.get(¢) != null;
+      assert NodeData.get(ns.get(¢), NodeData.Key.SHAPE) == datas.get(¢);
+    }
+  }
+
+  private static Block block(final String ¢) {
+    return (Block) wizard.ast(¢);
+  }
+}
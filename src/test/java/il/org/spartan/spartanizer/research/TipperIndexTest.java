@@ -0,0 +1,55 @@
+package il.org.spartan.spartanizer.research;
+
+import static il.org.spartan.azzert.*;
+
+import org.eclipse.jdt.core.dom.*;
+import org.junit.*;
+import org.junit.runners.*;
+
+import il.org.spartan.*;
+import il.org.spartan.spartanizer.ast.navigate.*;
+
+/** @since 2026-10-17 */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING) @SuppressWarnings({ "javadoc", "static-method" }) public class TipperIndexTest {
+  private final UserDefinedTipper<ASTNode> equalsNull = TipperFactory.tipper("$X == null", "", "equals null");
+  private final UserDefinedTipper<ASTNode> nullEquals = TipperFactory.tipper("null == $X", "", "null equals");
+  private final UserDefinedTipper<ASTNode> notNull = TipperFactory.tipper("$X != null", "", "not null");
+  private final UserDefinedTipper<ASTNode> any = TipperFactory.tipper("$X", "", "any");
+  private final TipperIndex<ASTNode> index = new TipperIndex<ASTNode>().add(equalsNull).add(nullEquals).add(notNull);
+
+  @Test public void allInOrder() {
+    final TipperIndex<ASTNode> $ = new TipperIndex<ASTNode>().add(any).add(equalsNull);
+    azzert.that($.tippers(wizard.ast("a == null")).size(), is(2));
+    assert $.tippers(wizard.ast("a == null")).get(0) == any;
+    assert $.firstTipper(wizard.ast("a == null")) == any;
+  }
+
+  @Test public void byOperator() {
+    assert index.firstTipper(wizard.ast("a != null")) == notNull;
+    assert index.firstTipper(wizard.ast("a == null")) == equalsNull;
+  }
+
+  @Test public void byChildren() {
+    assert index.firstTipper(wizard.ast("null == a")) == nullEquals;
+    assert !index.canTip(wizard.ast("a == b"));
+  }
+
+  @Test public void byType() {
+    assert !index.canTip(wizard.ast("f(a)"));
+    assert !index.canTip(null);
+  }
+
+  @Test public void iteratesAll() {
+    int $ = 0;
+    for (@SuppressWarnings("unused") final UserDefinedTipper<ASTNode> __ : index)
+      ++$;
+    azzert.that($, is(3));
+    azzert.that(index.size(), is(3));
+  }
+
+  @Test public void subBlock() {
+    final TipperIndex<ASTNode> $ = new TipperIndex<ASTNode>().add(TipperFactory.subBlockTipper("x = 1; return x;", "", ""));
+    assert $.canTip(wizard.ast("f(); x = 1; return x;"));
+    assert !$.canTip(wizard.ast("f(); x = 2; return x;"));
+  }
+}